@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Compares throughput and tail latency of the blocking and reactive read endpoints.
+# Requires wrk (https://github.com/wg/wrk) and a running application seeded with data.
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8000}
+USERNAME=${USERNAME:-admin}
+PASSWORD=${PASSWORD:-admin}
+THREADS=${THREADS:-8}
+CONNECTIONS=${CONNECTIONS:-256}
+DURATION=${DURATION:-30s}
+OUTPUT=${OUTPUT:-$(dirname "$0")/results/blocking-vs-reactive-$(date +%Y%m%d%H%M%S).txt}
+
+mkdir -p "$(dirname "$OUTPUT")"
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+    "$BASE_URL/auth/login" | sed -E 's/.*"access_token":"([^"]+)".*/\1/')
+
+for path in /user /reactive/user /group /reactive/group; do
+    echo "== $path (threads=$THREADS connections=$CONNECTIONS duration=$DURATION)"
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency \
+        -H "Authorization: Bearer $TOKEN" "$BASE_URL$path" | grep -E 'Requests/sec|Non-2xx| 50%| 99%'
+done | tee "$OUTPUT"
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Sweeps client concurrency against the blocking endpoints and prints throughput and tail latency.
+# Run it once against an instance started with GED_VIRTUAL_THREADS=false and once with
+# GED_VIRTUAL_THREADS=true (and a larger GED_DB_POOL_SIZE) to compare worker and virtual threads.
+# Requires wrk (https://github.com/wg/wrk).
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8000}
+USERNAME=${USERNAME:-admin}
+PASSWORD=${PASSWORD:-admin}
+THREADS=${THREADS:-8}
+DURATION=${DURATION:-30s}
+LEVELS=${LEVELS:-"64 256 1024 4096"}
+PATHS=${PATHS:-"/user /user/search?q=adm"}
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+    "$BASE_URL/auth/login" | sed -E 's/.*"access_token":"([^"]+)".*/\1/')
+
+for path in $PATHS; do
+    for connections in $LEVELS; do
+        echo "== $path (connections=$connections duration=$DURATION)"
+        wrk -t"$THREADS" -c"$connections" -d"$DURATION" --timeout 10s --latency \
+            -H "Authorization: Bearer $TOKEN" "$BASE_URL$path" | grep -E 'Requests/sec|Non-2xx|Socket errors| 50%| 99%'
+    done
+done
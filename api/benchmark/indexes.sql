@@ -0,0 +1,43 @@
+-- Compares the repository hot queries with and without the V2 indexes.
+-- Usage: psql -v rows=1000000 -f benchmark/indexes.sql <database>
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+
+drop schema if exists bench cascade;
+create schema bench;
+set search_path = bench, public;
+
+\ir ../src/main/resources/db/migration/V1__create_schema.sql
+
+select setseed(0.42);
+
+insert into groups (name, permissions, visible, editable, locked, created_at, updated_at, deleted_at)
+select 'group' || g, '["user:list"]', true, true, false, 0, g, 0
+from generate_series(1, 50) g;
+
+insert into users (group_id, name, job_title, phone, email, username, password, visible, editable, locked,
+        created_at, updated_at, deleted_at)
+select 1 + (u % 50), 'USER ' || u, 'JOB ' || (u % 100), null, 'user' || u || '@example.com', 'user' || u,
+        'x', random() > 0.02, true, false, u, u + (random() * 1000)::bigint,
+        case when random() < 0.05 then u else 0 end
+from generate_series(1, :rows) u;
+
+analyze groups;
+analyze users;
+
+\echo '==== without indexes ===='
+\ir queries.sql
+
+\ir ../src/main/resources/db/migration/V2__soft_delete_indexes.sql
+\ir ../src/main/resources/db/migration/V4__search_indexes.sql
+analyze groups;
+analyze users;
+
+\echo '==== with indexes ===='
+\ir queries.sql
+
+drop schema bench cascade;
@@ -0,0 +1,48 @@
+select :rows / 2 as cursor, 'user' || :rows / 2 as probe, 'user' || :rows / 2 || '@example.com' as mail \gset
+
+\echo '-- UserRepository.listPage'
+explain (analyze, buffers, costs off, summary on)
+select * from users where visible and deleted_at = 0 and id > :cursor order by id limit 51;
+
+\echo '-- UserRepository.findById'
+explain (analyze, buffers, costs off, summary on)
+select * from users where id = :cursor and visible and deleted_at = 0;
+
+\echo '-- UserRepository.validateUnique'
+explain (analyze, buffers, costs off, summary on)
+select coalesce(sum(case when username = :'probe' then 1 else 0 end), 0),
+        coalesce(sum(case when email = :'mail' then 1 else 0 end), 0)
+from users where (username = :'probe' or email = :'mail') and id != 0;
+
+\echo '-- lower(username) lookup'
+explain (analyze, buffers, costs off, summary on)
+select count(*) from users where lower(username) = :'probe';
+
+\echo '-- UserRepository.changes'
+explain (analyze, buffers, costs off, summary on)
+select * from users where visible and (updated_at > :cursor or (updated_at = :cursor and id > 0))
+order by updated_at, id limit 51;
+
+\echo '-- users of one group'
+explain (analyze, buffers, costs off, summary on)
+select count(*) from users where group_id = 7 and deleted_at = 0;
+
+\echo '-- GroupRepository.listAll'
+explain (analyze, buffers, costs off, summary on)
+select * from groups where visible and deleted_at = 0;
+
+\echo '-- UserRepository.search (substring)'
+explain (analyze, buffers, costs off, summary on)
+select * from users where visible and deleted_at = 0
+    and (username like '%ser12%' or email like '%ser12%' or name like '%SER12%' or job_title like '%SER12%')
+order by case when username like 'ser12%' or email like 'ser12%' or name like 'SER12%' or job_title like 'SER12%'
+        then 0 else 1 end,
+    greatest(similarity(username, 'ser12'), similarity(email, 'ser12'), similarity(name, 'SER12'),
+        similarity(coalesce(job_title, ''), 'SER12')) desc, id
+limit 20;
+
+\echo '-- UserRepository.search (prefix)'
+explain (analyze, buffers, costs off, summary on)
+select * from users where visible and deleted_at = 0
+    and (username like 'us%' or email like 'us%' or name like 'US%' or job_title like 'US%')
+order by id limit 20;
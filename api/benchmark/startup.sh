@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request of the packaged application and prints one JSON document per build.
+# Build first with `./mvnw package` (JVM) and/or `./mvnw package -Dnative` (native), and point the
+# application at a database through the usual QUARKUS_DATASOURCE_* variables.
+set -euo pipefail
+
+RUNS=${RUNS:-10}
+PORT=${PORT:-8000}
+URL=${URL:-http://localhost:$PORT/hello}
+BUILDS=${BUILDS:-"jvm native"}
+JVM_CMD=${JVM_CMD:-"java -jar target/quarkus-app/quarkus-run.jar"}
+NATIVE_CMD=${NATIVE_CMD:-"$(ls target/*-runner 2>/dev/null | head -1)"}
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local cmd=$1 start pid elapsed
+    start=$(now_ms)
+    $cmd >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before serving $URL" >&2
+            return 1
+        fi
+        sleep 0.005
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+for build in $BUILDS; do
+    case $build in
+        jvm) cmd=$JVM_CMD ;;
+        native) cmd=$NATIVE_CMD ;;
+        *) echo "unknown build $build" >&2; exit 1 ;;
+    esac
+    if [ -z "$cmd" ]; then
+        echo "no command for $build, skipping" >&2
+        continue
+    fi
+    samples=()
+    for _ in $(seq "$RUNS"); do
+        samples+=("$(measure "$cmd")")
+    done
+    sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+    count=${#sorted[@]}
+    sum=0
+    for sample in "${sorted[@]}"; do
+        sum=$((sum + sample))
+    done
+    printf '{"build":"%s","runs":%d,"min_ms":%d,"median_ms":%d,"mean_ms":%d,"max_ms":%d,"samples_ms":[%s]}\n' \
+        "$build" "$count" "${sorted[0]}" "${sorted[$((count / 2))]}" "$((sum / count))" "${sorted[$((count - 1))]}" \
+        "$(IFS=,; echo "${samples[*]}")"
+done
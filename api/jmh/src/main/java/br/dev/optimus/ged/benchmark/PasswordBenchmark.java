@@ -0,0 +1,43 @@
+package br.dev.optimus.ged.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.optimus.ged.model.User;
+import io.quarkus.elytron.security.common.BcryptUtil;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+    private static final String PASSWORD = "s3cr3t-passw0rd";
+
+    @State(Scope.Thread)
+    public static class Cost {
+        @Param({ "8", "10", "12" })
+        private int value;
+    }
+
+    @Benchmark
+    public String bcryptHash(Cost cost) {
+        return BcryptUtil.bcryptHash(PASSWORD, cost.value);
+    }
+
+    @Benchmark
+    public String cryptPassword() {
+        return User.cryptPassword(PASSWORD);
+    }
+}
@@ -0,0 +1,59 @@
+package br.dev.optimus.ged.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.optimus.ged.repository.GroupRepository;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PermissionBenchmark {
+    private static final String REGEX = "^(?!(root|admin|nobody)$)user:(list|create|update|delete)$";
+    private static final String[] CODES = {
+            "root", "admin", "nobody", "user:list", "user:create", "user:update", "user:delete",
+            "group:list", "group:create", "group:update", "group:delete", "report:export" };
+
+    @Param({ "4", "12", "64" })
+    private int size;
+
+    private List<String> permissions;
+
+    @Setup
+    public void setup() {
+        permissions = new ArrayList<>(size);
+        for (var i = 0; i < size; i++) {
+            permissions.add(CODES[i % CODES.length]);
+        }
+    }
+
+    @Benchmark
+    public Set<String> cleanPermissions() {
+        return GroupRepository.cleanPermissions(permissions);
+    }
+
+    @Benchmark
+    public Set<String> regexBaseline() {
+        return permissions.stream()
+                .filter(permission -> !permission.matches(REGEX))
+                .collect(Collectors.toSet());
+    }
+}
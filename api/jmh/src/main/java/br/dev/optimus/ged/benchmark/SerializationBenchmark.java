@@ -0,0 +1,86 @@
+package br.dev.optimus.ged.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.optimus.ged.model.Group;
+import br.dev.optimus.ged.model.User;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+    @Param({ "1", "50", "500" })
+    private int size;
+
+    private Jsonb jsonb;
+    private List<User> users;
+    private List<User.Summary> summaries;
+    private List<Group> groups;
+
+    @Setup
+    public void setup() {
+        jsonb = JsonbBuilder.create();
+        users = new ArrayList<>(size);
+        groups = new ArrayList<>(size);
+        for (var i = 0; i < size; i++) {
+            var group = Group.builder()
+                    .name("group " + i)
+                    .permissions("user:list", "user:create", "group:list")
+                    .build();
+            group.setId(i + 1);
+            groups.add(group);
+            var user = User.builder()
+                    .group(group)
+                    .name("user " + i)
+                    .jobTitle("analyst")
+                    .phone("+55 11 91234-5678")
+                    .email("user" + i + "@example.com")
+                    .username("user" + i)
+                    .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3iF8Sh2tCj9UOvV0YvzJz1e")
+                    .build();
+            user.setId(i + 1L);
+            users.add(user);
+        }
+        summaries = users.stream().map(User.Summary::of).toList();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public String users() {
+        return jsonb.toJson(users);
+    }
+
+    @Benchmark
+    public String summaries() {
+        return jsonb.toJson(summaries);
+    }
+
+    @Benchmark
+    public String groups() {
+        return jsonb.toJson(groups);
+    }
+}
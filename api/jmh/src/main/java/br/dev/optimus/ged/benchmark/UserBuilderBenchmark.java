@@ -0,0 +1,57 @@
+package br.dev.optimus.ged.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.dev.optimus.ged.model.Group;
+import br.dev.optimus.ged.model.User;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UserBuilderBenchmark {
+    private final Group group = Group.builder().name("operators").permissions("user:list").build();
+    private final String name = "Maria da Conceição Albuquerque";
+    private final String jobTitle = "Analista de Sistemas";
+    private final String email = "Maria.Albuquerque@Example.COM";
+    private final String username = "Maria.Albuquerque";
+    private final String hash = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3iF8Sh2tCj9UOvV0YvzJz1e";
+
+    @Benchmark
+    public User build() {
+        return User.builder()
+                .group(group)
+                .name(name)
+                .jobTitle(jobTitle)
+                .phone("+55 11 91234-5678")
+                .email(email)
+                .username(username)
+                .password(hash)
+                .build();
+    }
+
+    @Benchmark
+    public User buildNormalized() {
+        return User.builder()
+                .group(group)
+                .name("MARIA DA CONCEIÇÃO ALBUQUERQUE")
+                .jobTitle("ANALISTA DE SISTEMAS")
+                .phone("+55 11 91234-5678")
+                .email("maria.albuquerque@example.com")
+                .username("maria.albuquerque")
+                .password(hash)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package br.dev.optimus.ged.config;
+
+import java.time.Duration;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.archive")
+public interface ArchiveConfig {
+    @WithDefault("true")
+    boolean enabled();
+
+    @WithDefault("90d")
+    Duration retention();
+
+    @WithDefault("500")
+    int batchSize();
+
+    @WithDefault("100ms")
+    Duration pause();
+}
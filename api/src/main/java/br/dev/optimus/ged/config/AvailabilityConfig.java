@@ -0,0 +1,16 @@
+package br.dev.optimus.ged.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.availability")
+public interface AvailabilityConfig {
+    @WithDefault("1000000")
+    long expectedInsertions();
+
+    @WithDefault("0.01")
+    double falsePositiveRate();
+
+    @WithDefault("true")
+    boolean warmUpAsync();
+}
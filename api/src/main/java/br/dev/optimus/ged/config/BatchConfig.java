@@ -0,0 +1,13 @@
+package br.dev.optimus.ged.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.batch")
+public interface BatchConfig {
+    @WithDefault("1000")
+    int maxSize();
+
+    @WithDefault("100")
+    int jdbcSize();
+}
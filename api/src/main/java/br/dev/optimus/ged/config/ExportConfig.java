@@ -0,0 +1,10 @@
+package br.dev.optimus.ged.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.export")
+public interface ExportConfig {
+    @WithDefault("500")
+    int fetchSize();
+}
@@ -0,0 +1,23 @@
+package br.dev.optimus.ged.config;
+
+import java.time.Duration;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.idempotency")
+public interface IdempotencyConfig {
+    String secret();
+
+    @WithDefault("24h")
+    Duration ttl();
+
+    @WithDefault("10000")
+    int cacheSize();
+
+    @WithDefault("30s")
+    Duration wait();
+
+    @WithDefault("2m")
+    Duration pendingTimeout();
+}
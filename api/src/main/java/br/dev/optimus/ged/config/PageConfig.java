@@ -0,0 +1,20 @@
+package br.dev.optimus.ged.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.page")
+public interface PageConfig {
+    @WithDefault("50")
+    int size();
+
+    @WithDefault("500")
+    int maxSize();
+
+    default int clamp(Integer size) {
+        if (size == null || size <= 0) {
+            return size();
+        }
+        return Math.min(size, maxSize());
+    }
+}
@@ -0,0 +1,17 @@
+package br.dev.optimus.ged.config;
+
+import java.util.OptionalInt;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.password")
+public interface PasswordConfig {
+    OptionalInt threads();
+
+    @WithDefault("64")
+    int queueSize();
+
+    @WithDefault("1")
+    long retryAfter();
+}
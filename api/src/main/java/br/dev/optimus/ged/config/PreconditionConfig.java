@@ -0,0 +1,10 @@
+package br.dev.optimus.ged.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.precondition")
+public interface PreconditionConfig {
+    @WithDefault("false")
+    boolean required();
+}
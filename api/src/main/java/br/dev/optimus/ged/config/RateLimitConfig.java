@@ -0,0 +1,30 @@
+package br.dev.optimus.ged.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.rate-limit")
+public interface RateLimitConfig {
+    @WithDefault("true")
+    boolean enabled();
+
+    @WithDefault("64")
+    int stripes();
+
+    @WithDefault("100000")
+    int maxKeys();
+
+    @WithDefault("10m")
+    Duration idleTimeout();
+
+    Map<String, Bucket> buckets();
+
+    interface Bucket {
+        int capacity();
+
+        Duration period();
+    }
+}
@@ -0,0 +1,16 @@
+package br.dev.optimus.ged.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.search")
+public interface SearchConfig {
+    @WithDefault("20")
+    int limit();
+
+    @WithDefault("100")
+    int maxLimit();
+
+    @WithDefault("3")
+    int substringMinLength();
+}
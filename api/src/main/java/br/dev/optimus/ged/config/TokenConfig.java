@@ -0,0 +1,14 @@
+package br.dev.optimus.ged.config;
+
+import java.time.Duration;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "ged.token")
+public interface TokenConfig {
+    String secret();
+
+    @WithDefault("15m")
+    Duration ttl();
+}
@@ -0,0 +1,30 @@
+package br.dev.optimus.ged.controller;
+
+import br.dev.optimus.ged.security.RateLimited;
+import br.dev.optimus.ged.security.TokenService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/auth")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class AuthController {
+    private final TokenService tokenService;
+
+    public AuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @POST
+    @Path("/login")
+    @RateLimited("login")
+    @RunOnVirtualThread
+    public Response login(TokenService.Login login) {
+        return Response.ok(tokenService.login(login)).build();
+    }
+}
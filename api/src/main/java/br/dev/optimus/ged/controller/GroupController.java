@@ -1,60 +1,149 @@
 package br.dev.optimus.ged.controller;
 
+import java.util.List;
+
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import br.dev.optimus.ged.feed.ChangeFeed;
+import br.dev.optimus.ged.idempotency.IdempotencyStore;
 import br.dev.optimus.ged.model.Group;
 import br.dev.optimus.ged.repository.GroupRepository;
+import br.dev.optimus.ged.security.RequiresPermission;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 
 @Path("/group")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class GroupController {
+    private static final String CREATE_SCOPE = "group:create";
+
     private final GroupRepository repository;
+    private final ChangeFeed changeFeed;
+    private final IdempotencyStore idempotency;
+    private final Preconditions preconditions;
 
-    public GroupController(GroupRepository repository) {
+    public GroupController(GroupRepository repository, ChangeFeed changeFeed, IdempotencyStore idempotency,
+            Preconditions preconditions) {
         this.repository = repository;
+        this.changeFeed = changeFeed;
+        this.idempotency = idempotency;
+        this.preconditions = preconditions;
+    }
+
+    @GET
+    @RequiresPermission("group:list")
+    @RunOnVirtualThread
+    public Response index(@QueryParam("cursor") String cursor, @QueryParam("size") Integer size,
+            @Context UriInfo uriInfo, @Context Request request) {
+        var tag = repository.pageTag(cursor, size);
+        var notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        var page = repository.listPage(cursor, size);
+        var response = Response.ok(page).tag(tag);
+        if (page.hasNext()) {
+            response.link(uriInfo.getRequestUriBuilder().replaceQueryParam("cursor", page.next()).build(), "next");
+        }
+        return response.build();
     }
 
     @GET
-    public Response index() {
-        return Response.ok(repository.listAll()).build();
+    @Path("/changes")
+    @RequiresPermission("group:list")
+    @RunOnVirtualThread
+    public Response changes(@QueryParam("since") Long since, @QueryParam("cursor") String cursor,
+            @QueryParam("size") Integer size) {
+        return Response.ok(repository.changes(since, cursor, size)).build();
+    }
+
+    @GET
+    @Path("/changes/stream")
+    @Blocking
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @RequiresPermission("group:list")
+    public Multi<Group> stream() {
+        return changeFeed.groups();
     }
 
     @GET
     @Path("/{id}")
-    public Response show(Integer id) {
-        return Response.ok(repository.findById(id)).build();
+    @RequiresPermission("group:list")
+    @RunOnVirtualThread
+    public Response show(Integer id, @Context Request request) {
+        var tag = repository.entityTag(id);
+        var notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(repository.findById(id)).tag(tag).build();
     }
 
     @POST
-    public Response store(Group.DTO dto) {
-        return Response.status(Response.Status.CREATED)
-                .entity(repository.create(dto))
-                .build();
+    @RequiresPermission("group:create")
+    @RunOnVirtualThread
+    public Response store(@HeaderParam(IdempotencyStore.HEADER) String idempotencyKey, Group.DTO dto) {
+        return idempotency.execute(CREATE_SCOPE, idempotencyKey, dto,
+                () -> Response.status(Response.Status.CREATED).entity(repository.create(dto)).build());
     }
 
     @PUT
     @Path("/{id}")
-    public Response update(Integer id, Group.DTO dto) {
-        return Response.ok(repository.update(id, dto)).build();
+    @RequiresPermission("group:update")
+    @RunOnVirtualThread
+    public Response update(Integer id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch, Group.DTO dto) {
+        var expectedVersion = preconditions.expectedVersion(ifMatch, () -> repository.entityTag(id));
+        var data = repository.update(id, dto, expectedVersion);
+        return Response.ok(data).tag(repository.entityTag(data)).build();
+    }
+
+    @DELETE
+    @RequiresPermission("group:delete")
+    @RunOnVirtualThread
+    public Response destroyBatch(@QueryParam("ids") List<Integer> ids) {
+        return Response.ok(repository.deleteBatch(ids)).build();
+    }
+
+    @PUT
+    @Path("/restore")
+    @RequiresPermission("group:delete")
+    @RunOnVirtualThread
+    public Response restoreBatch(@QueryParam("ids") List<Integer> ids) {
+        return Response.ok(repository.restoreBatch(ids)).build();
     }
 
     @DELETE
     @Path("/{id}")
-    public Response destroy(Integer id) {
-        repository.delete(id);
+    @RequiresPermission("group:delete")
+    @RunOnVirtualThread
+    public Response destroy(Integer id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        var expectedVersion = preconditions.expectedVersion(ifMatch, () -> repository.entityTag(id));
+        repository.delete(id, expectedVersion);
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
     @PUT
     @Path("/{id}/restore")
+    @RequiresPermission("group:delete")
+    @RunOnVirtualThread
     public Response restore(Integer id) {
         return Response.ok(repository.restore(id)).build();
     }
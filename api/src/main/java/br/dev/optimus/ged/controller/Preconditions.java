@@ -0,0 +1,67 @@
+package br.dev.optimus.ged.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import br.dev.optimus.ged.config.PreconditionConfig;
+import br.dev.optimus.ged.exception.PreconditionFailedException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.EntityTag;
+
+@ApplicationScoped
+public class Preconditions {
+    private static final int PRECONDITION_REQUIRED = 428;
+
+    private final PreconditionConfig config;
+
+    public Preconditions(PreconditionConfig config) {
+        this.config = config;
+    }
+
+    public Long expectedVersion(String header, Supplier<EntityTag> current) {
+        if (header == null || header.isBlank()) {
+            if (config.required()) {
+                throw new ClientErrorException("If-Match is required", PRECONDITION_REQUIRED);
+            }
+            return null;
+        }
+        if (header.strip().equals("*")) {
+            return null;
+        }
+        var tag = current.get();
+        if (tag.isWeak() || !strongTags(header).contains(tag.getValue())) {
+            throw new PreconditionFailedException("resource was modified");
+        }
+        var value = tag.getValue();
+        var dot = value.indexOf('.');
+        return Long.parseLong(dot < 0 ? value : value.substring(0, dot));
+    }
+
+    static Set<String> strongTags(String header) {
+        var tags = new HashSet<String>();
+        var i = 0;
+        while (i < header.length()) {
+            var c = header.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            var weak = header.startsWith("W/", i);
+            var start = weak ? i + 2 : i;
+            if (start >= header.length() || header.charAt(start) != '"') {
+                break;
+            }
+            var end = header.indexOf('"', start + 1);
+            if (end < 0) {
+                break;
+            }
+            if (!weak) {
+                tags.add(header.substring(start + 1, end));
+            }
+            i = end + 1;
+        }
+        return tags;
+    }
+}
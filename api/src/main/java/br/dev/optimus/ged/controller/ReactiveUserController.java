@@ -0,0 +1,44 @@
+package br.dev.optimus.ged.controller;
+
+import br.dev.optimus.ged.repository.UserReactiveRepository;
+import br.dev.optimus.ged.security.RequiresPermission;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+@Path("/reactive/user")
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactiveUserController {
+    private final UserReactiveRepository repository;
+
+    public ReactiveUserController(UserReactiveRepository repository) {
+        this.repository = repository;
+    }
+
+    @GET
+    @RequiresPermission("user:list")
+    public Uni<Response> index(@QueryParam("cursor") String cursor, @QueryParam("size") Integer size,
+            @Context UriInfo uriInfo) {
+        var next = uriInfo.getRequestUriBuilder();
+        return repository.listPage(cursor, size).map(page -> {
+            var response = Response.ok(page);
+            if (page.hasNext()) {
+                response.link(next.replaceQueryParam("cursor", page.next()).build(), "next");
+            }
+            return response.build();
+        });
+    }
+
+    @GET
+    @Path("/{id}")
+    @RequiresPermission("user:list")
+    public Uni<Response> show(Long id) {
+        return repository.findSummaryById(id).map(data -> Response.ok(data).build());
+    }
+}
@@ -1,60 +1,216 @@
 package br.dev.optimus.ged.controller;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import br.dev.optimus.ged.feed.ChangeFeed;
+import br.dev.optimus.ged.idempotency.IdempotencyStore;
 import br.dev.optimus.ged.model.User;
 import br.dev.optimus.ged.repository.UserRepository;
+import br.dev.optimus.ged.security.RateLimited;
+import br.dev.optimus.ged.security.RateLimiter;
+import br.dev.optimus.ged.security.RequiresPermission;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.json.bind.Jsonb;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 
 @Path("/user")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class UserController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String CREATE_SCOPE = "user:create";
+
     private final UserRepository repository;
+    private final ChangeFeed changeFeed;
+    private final IdempotencyStore idempotency;
+    private final Preconditions preconditions;
+    private final RateLimiter rateLimiter;
+    private final RoutingContext routingContext;
+    private final Jsonb jsonb;
 
-    public UserController(UserRepository repository) {
+    public UserController(UserRepository repository, ChangeFeed changeFeed, IdempotencyStore idempotency,
+            Preconditions preconditions, RateLimiter rateLimiter, RoutingContext routingContext, Jsonb jsonb) {
         this.repository = repository;
+        this.changeFeed = changeFeed;
+        this.idempotency = idempotency;
+        this.preconditions = preconditions;
+        this.rateLimiter = rateLimiter;
+        this.routingContext = routingContext;
+        this.jsonb = jsonb;
+    }
+
+    @GET
+    @RequiresPermission("user:list")
+    @RunOnVirtualThread
+    public Response index(@QueryParam("cursor") String cursor, @QueryParam("size") Integer size,
+            @Context UriInfo uriInfo, @Context Request request) {
+        var tag = repository.pageTag(cursor, size);
+        var notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        var page = repository.listPage(cursor, size);
+        var response = Response.ok(page).tag(tag);
+        if (page.hasNext()) {
+            response.link(uriInfo.getRequestUriBuilder().replaceQueryParam("cursor", page.next()).build(), "next");
+        }
+        return response.build();
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(APPLICATION_NDJSON)
+    @RequiresPermission("user:list")
+    @RunOnVirtualThread
+    public Response export() {
+        StreamingOutput stream = output -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            repository.export(user -> {
+                try {
+                    writer.write(jsonb.toJson(user));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return Response.ok(stream).build();
     }
 
     @GET
-    public Response index() {
-        return Response.ok(repository.listAll()).build();
+    @Path("/available")
+    @RunOnVirtualThread
+    public Response available(@QueryParam("username") String username, @QueryParam("email") String email) {
+        return Response.ok(repository.availability(username, email)).build();
+    }
+
+    @GET
+    @Path("/search")
+    @RequiresPermission("user:list")
+    @RunOnVirtualThread
+    public Response search(@QueryParam("q") String q, @QueryParam("limit") Integer limit) {
+        return Response.ok(repository.search(q, limit)).build();
+    }
+
+    @GET
+    @Path("/changes")
+    @RequiresPermission("user:list")
+    @RunOnVirtualThread
+    public Response changes(@QueryParam("since") Long since, @QueryParam("cursor") String cursor,
+            @QueryParam("size") Integer size) {
+        return Response.ok(repository.changes(since, cursor, size)).build();
+    }
+
+    @GET
+    @Path("/changes/stream")
+    @Blocking
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @RequiresPermission("user:list")
+    public Multi<User.Summary> stream() {
+        return changeFeed.users();
     }
 
     @GET
     @Path("/{id}")
-    public Response show(Long id) {
-        return Response.ok(repository.findById(id)).build();
+    @RequiresPermission("user:list")
+    @RunOnVirtualThread
+    public Response show(Long id, @Context Request request) {
+        var tag = repository.entityTag(id);
+        var notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(repository.findSummaryById(id)).tag(tag).build();
+    }
+
+    @POST
+    @RateLimited(value = "user-write", idempotencyScope = CREATE_SCOPE)
+    @RequiresPermission("user:create")
+    @RunOnVirtualThread
+    public Response store(@HeaderParam(IdempotencyStore.HEADER) String idempotencyKey, User.DTO dto) {
+        return idempotency.execute(CREATE_SCOPE, idempotencyKey, dto,
+                () -> Response.status(Response.Status.CREATED).entity(repository.create(dto)).build());
     }
 
     @POST
-    public Response store(User.DTO dto) {
-        return Response.status(Response.Status.CREATED)
-                .entity(repository.create(dto))
-                .build();
+    @Path("/batch")
+    @RateLimited("user-write")
+    @RequiresPermission("user:create")
+    @RunOnVirtualThread
+    public Response storeBatch(List<User.DTO> dtos) {
+        if (dtos != null && dtos.size() > 1) {
+            rateLimiter.acquire("user-write", RateLimiter.clientKey(routingContext), dtos.size() - 1);
+        }
+        return Response.ok(repository.createBatch(dtos)).build();
     }
 
     @PUT
     @Path("/{id}")
-    public Response update(Long id, User.DTO dto) {
-        return Response.ok(repository.update(id, dto)).build();
+    @RateLimited("user-write")
+    @RequiresPermission("user:update")
+    @RunOnVirtualThread
+    public Response update(Long id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch, User.DTO dto) {
+        var expectedVersion = preconditions.expectedVersion(ifMatch, () -> repository.entityTag(id));
+        var data = repository.update(id, dto, expectedVersion);
+        return Response.ok(data).tag(repository.entityTag(data)).build();
+    }
+
+    @DELETE
+    @RequiresPermission("user:delete")
+    @RunOnVirtualThread
+    public Response destroyBatch(@QueryParam("ids") List<Long> ids) {
+        return Response.ok(repository.deleteBatch(ids)).build();
+    }
+
+    @PUT
+    @Path("/restore")
+    @RequiresPermission("user:delete")
+    @RunOnVirtualThread
+    public Response restoreBatch(@QueryParam("ids") List<Long> ids) {
+        return Response.ok(repository.restoreBatch(ids)).build();
     }
 
     @DELETE
     @Path("/{id}")
-    public Response destroy(Long id) {
-        repository.delete(id);
+    @RequiresPermission("user:delete")
+    @RunOnVirtualThread
+    public Response destroy(Long id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        var expectedVersion = preconditions.expectedVersion(ifMatch, () -> repository.entityTag(id));
+        repository.delete(id, expectedVersion);
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
     @PUT
     @Path("/{id}/restore")
+    @RequiresPermission("user:delete")
+    @RunOnVirtualThread
     public Response restore(Long id) {
         return Response.ok(repository.restore(id)).build();
     }
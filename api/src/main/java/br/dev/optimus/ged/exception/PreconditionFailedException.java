@@ -0,0 +1,10 @@
+package br.dev.optimus.ged.exception;
+
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+
+public class PreconditionFailedException extends ClientErrorException {
+    public PreconditionFailedException(String message) {
+        super(message, Response.Status.PRECONDITION_FAILED);
+    }
+}
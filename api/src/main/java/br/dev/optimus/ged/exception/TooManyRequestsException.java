@@ -0,0 +1,13 @@
+package br.dev.optimus.ged.exception;
+
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+public class TooManyRequestsException extends ClientErrorException {
+    public TooManyRequestsException(String message, long retryAfter) {
+        super(message, Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build());
+    }
+}
@@ -1,7 +1,23 @@
 package br.dev.optimus.ged.exception;
 
+import java.sql.SQLException;
+
 public class UniqueConstraintViolationException extends RuntimeException {
+    private static final String UNIQUE_VIOLATION = "23505";
+
     public UniqueConstraintViolationException(String message) {
         super(message);
     }
+
+    public static String violatedKey(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                var message = String.valueOf(sql.getMessage());
+                var start = message.indexOf("Key (");
+                var end = message.indexOf(")=(", start);
+                return start < 0 || end < 0 ? "" : message.substring(start + 5, end);
+            }
+        }
+        return null;
+    }
 }
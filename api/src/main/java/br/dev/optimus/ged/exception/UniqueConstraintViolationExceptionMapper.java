@@ -0,0 +1,19 @@
+package br.dev.optimus.ged.exception;
+
+import java.util.Map;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class UniqueConstraintViolationExceptionMapper implements ExceptionMapper<UniqueConstraintViolationException> {
+    @Override
+    public Response toResponse(UniqueConstraintViolationException exception) {
+        return Response.status(Response.Status.CONFLICT)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(Map.of("message", exception.getMessage()))
+                .build();
+    }
+}
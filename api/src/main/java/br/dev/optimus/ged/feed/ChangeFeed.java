@@ -0,0 +1,33 @@
+package br.dev.optimus.ged.feed;
+
+import br.dev.optimus.ged.model.Group;
+import br.dev.optimus.ged.model.User;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.operators.multi.processors.SerializedProcessor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+@ApplicationScoped
+public class ChangeFeed {
+    private final SerializedProcessor<User.Summary, User.Summary> users = BroadcastProcessor.<User.Summary>create()
+            .serialized();
+    private final SerializedProcessor<Group, Group> groups = BroadcastProcessor.<Group>create().serialized();
+
+    public Multi<User.Summary> users() {
+        return users.onOverflow().drop();
+    }
+
+    public Multi<Group> groups() {
+        return groups.onOverflow().drop();
+    }
+
+    void onUser(@Observes(during = TransactionPhase.AFTER_SUCCESS) User.Summary change) {
+        users.onNext(change);
+    }
+
+    void onGroup(@Observes(during = TransactionPhase.AFTER_SUCCESS) Group change) {
+        groups.onNext(change);
+    }
+}
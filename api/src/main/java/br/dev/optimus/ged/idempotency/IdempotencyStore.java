@@ -0,0 +1,253 @@
+package br.dev.optimus.ged.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import br.dev.optimus.ged.config.IdempotencyConfig;
+import br.dev.optimus.ged.model.IdempotencyKey;
+import br.dev.optimus.ged.repository.IdempotencyKeyRepository;
+import br.dev.optimus.ged.security.TokenIdentityProvider;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.security.identity.SecurityIdentity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.bind.Jsonb;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@ApplicationScoped
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotency-Replayed";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int UNPROCESSABLE_ENTITY = 422;
+    private static final long POLL_MILLIS = 100;
+    private static final IdempotencyKey FAILED = new IdempotencyKey();
+
+    private final IdempotencyKeyRepository repository;
+    private final SecurityIdentity identity;
+    private final Jsonb jsonb;
+    private final IdempotencyConfig config;
+    private final Mac mac;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyKey>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, IdempotencyKey> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private record Outcome(Response response, IdempotencyKey stored) {
+    }
+
+    public IdempotencyStore(IdempotencyKeyRepository repository, SecurityIdentity identity, Jsonb jsonb,
+            IdempotencyConfig config) {
+        this.repository = repository;
+        this.identity = identity;
+        this.jsonb = jsonb;
+        this.config = config;
+        try {
+            this.mac = Mac.getInstance(ALGORITHM);
+            this.mac.init(new SecretKeySpec(config.secret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Response execute(String scope, String key, Object request, Supplier<Response> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must have at most " + MAX_KEY_LENGTH + " characters");
+        }
+        var id = id(scope, key);
+        var fingerprint = fingerprint(request);
+        var deadline = System.nanoTime() + config.wait().toNanos();
+        while (true) {
+            var cached = cached(id, cutoff());
+            if (cached != null) {
+                return replay(cached, fingerprint);
+            }
+            var mine = new CompletableFuture<IdempotencyKey>();
+            var running = inFlight.putIfAbsent(id, mine);
+            if (running != null) {
+                var stored = await(running, deadline);
+                if (stored != FAILED) {
+                    return replay(stored, fingerprint);
+                }
+                continue;
+            }
+            var stored = FAILED;
+            try {
+                var outcome = own(id, fingerprint, action, deadline);
+                if (outcome == null) {
+                    continue;
+                }
+                if (outcome.stored() != null) {
+                    stored = outcome.stored();
+                    remember(stored);
+                }
+                return outcome.response() != null ? outcome.response() : replay(stored, fingerprint);
+            } finally {
+                mine.complete(stored);
+                inFlight.remove(id, mine);
+            }
+        }
+    }
+
+    public boolean isStored(String scope, String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        var id = id(scope, key);
+        var cutoff = cutoff();
+        return cached(id, cutoff) != null || QuarkusTransaction.requiringNew()
+                .call(() -> repository.findActive(id, cutoff))
+                .filter(stored -> !stored.isPending())
+                .isPresent();
+    }
+
+    private Outcome own(String id, String fingerprint, Supplier<Response> action, long deadline) {
+        var now = Instant.now().toEpochMilli();
+        var cutoff = cutoff();
+        var staleBefore = now - config.pendingTimeout().toMillis();
+        if (QuarkusTransaction.requiringNew().call(() -> repository.claim(id, fingerprint, now, cutoff, staleBefore))) {
+            return run(id, fingerprint, now, action);
+        }
+        var existing = QuarkusTransaction.requiringNew().call(() -> repository.findActive(id, cutoff)).orElse(null);
+        if (existing == null) {
+            return null;
+        }
+        if (!existing.getFingerprint().equals(fingerprint)) {
+            throw mismatch();
+        }
+        if (!existing.isPending()) {
+            return new Outcome(null, existing);
+        }
+        if (System.nanoTime() >= deadline) {
+            throw conflict();
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict();
+        }
+        return null;
+    }
+
+    private Outcome run(String id, String fingerprint, long claimedAt, Supplier<Response> action) {
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> {
+                var response = action.get();
+                if (response.getStatus() >= 300) {
+                    repository.release(id, claimedAt);
+                    return new Outcome(response, null);
+                }
+                var body = response.hasEntity() ? jsonb.toJson(response.getEntity()) : null;
+                if (!repository.complete(id, claimedAt, response.getStatus(), body)) {
+                    throw new ClientErrorException("the claim on this " + HEADER + " expired before the request "
+                            + "finished", Response.Status.CONFLICT);
+                }
+                return new Outcome(response, new IdempotencyKey(id, fingerprint, response.getStatus(), body,
+                        claimedAt));
+            });
+        } catch (RuntimeException e) {
+            QuarkusTransaction.requiringNew().run(() -> repository.release(id, claimedAt));
+            throw e;
+        }
+    }
+
+    private IdempotencyKey await(CompletableFuture<IdempotencyKey> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException e) {
+            return FAILED;
+        } catch (TimeoutException e) {
+            throw conflict();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict();
+        }
+    }
+
+    private Response replay(IdempotencyKey stored, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            throw mismatch();
+        }
+        var response = Response.status(stored.getStatus()).header(REPLAYED, true);
+        if (stored.getBody() != null) {
+            response.entity(stored.getBody()).type(MediaType.APPLICATION_JSON_TYPE);
+        }
+        return response.build();
+    }
+
+    private IdempotencyKey cached(String id, long cutoff) {
+        lock.lock();
+        try {
+            var stored = cache.get(id);
+            if (stored != null && stored.getCreatedAt() < cutoff) {
+                cache.remove(id);
+                return null;
+            }
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remember(IdempotencyKey stored) {
+        lock.lock();
+        try {
+            cache.put(stored.getId(), stored);
+            var it = cache.values().iterator();
+            while (cache.size() > config.cacheSize() && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String id(String scope, String key) {
+        return scope + ":" + identity.getAttribute(TokenIdentityProvider.USER_ID) + ":" + key;
+    }
+
+    private long cutoff() {
+        return Instant.now().minus(config.ttl()).toEpochMilli();
+    }
+
+    String fingerprint(Object request) {
+        try {
+            var instance = (Mac) mac.clone();
+            return HexFormat.of().formatHex(instance.doFinal(jsonb.toJson(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ClientErrorException mismatch() {
+        return new ClientErrorException(HEADER + " was already used with a different request", UNPROCESSABLE_ENTITY);
+    }
+
+    private static ClientErrorException conflict() {
+        return new ClientErrorException("a request with this " + HEADER + " is still in progress",
+                Response.Status.CONFLICT);
+    }
+}
@@ -0,0 +1,85 @@
+package br.dev.optimus.ged.job;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import br.dev.optimus.ged.config.ArchiveConfig;
+import br.dev.optimus.ged.repository.GroupRepository;
+import br.dev.optimus.ged.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ArchiveJob {
+    private static final Logger LOG = Logger.getLogger(ArchiveJob.class);
+
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final ArchiveConfig config;
+    private final Counter usersArchived;
+    private final Counter groupsArchived;
+    private final AtomicLong userPosition = new AtomicLong();
+    private final AtomicLong groupPosition = new AtomicLong();
+
+    public interface Batch {
+        List<Number> archive(long cutoff, long after, int limit);
+    }
+
+    public ArchiveJob(UserRepository userRepository, GroupRepository groupRepository, ArchiveConfig config,
+            MeterRegistry registry) {
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.config = config;
+        this.usersArchived = Counter.builder("ged.archive.rows").tag("table", "users").register(registry);
+        this.groupsArchived = Counter.builder("ged.archive.rows").tag("table", "groups").register(registry);
+        registry.gauge("ged.archive.position", Tags.of("table", "users"), userPosition);
+        registry.gauge("ged.archive.position", Tags.of("table", "groups"), groupPosition);
+    }
+
+    @Scheduled(every = "${ged.archive.every:1h}", delayed = "${ged.archive.delay:5m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void run() {
+        if (!config.enabled()) {
+            return;
+        }
+        var cutoff = Instant.now().minus(config.retention()).toEpochMilli();
+        var users = archive("users", userRepository::archiveBatch, cutoff, usersArchived, userPosition);
+        var groups = archive("groups", groupRepository::archiveBatch, cutoff, groupsArchived, groupPosition);
+        if (users + groups > 0) {
+            LOG.infof("archived %d users and %d groups deleted before %d", users, groups, cutoff);
+        }
+    }
+
+    private long archive(String table, Batch batch, long cutoff, Counter counter, AtomicLong position) {
+        var total = 0L;
+        position.set(0);
+        while (true) {
+            var after = position.get();
+            var ids = QuarkusTransaction.requiringNew()
+                    .call(() -> batch.archive(cutoff, after, config.batchSize()));
+            if (ids.isEmpty()) {
+                return total;
+            }
+            total += ids.size();
+            counter.increment(ids.size());
+            position.set(ids.stream().mapToLong(Number::longValue).max().orElse(after));
+            LOG.debugf("archived %d %s up to id %d", ids.size(), table, position.get());
+            if (ids.size() < config.batchSize()) {
+                return total;
+            }
+            try {
+                Thread.sleep(config.pause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+}
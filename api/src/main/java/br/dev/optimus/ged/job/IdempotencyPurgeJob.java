@@ -0,0 +1,34 @@
+package br.dev.optimus.ged.job;
+
+import java.time.Instant;
+
+import org.jboss.logging.Logger;
+
+import br.dev.optimus.ged.config.IdempotencyConfig;
+import br.dev.optimus.ged.repository.IdempotencyKeyRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class IdempotencyPurgeJob {
+    private static final Logger LOG = Logger.getLogger(IdempotencyPurgeJob.class);
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyConfig config;
+
+    public IdempotencyPurgeJob(IdempotencyKeyRepository repository, IdempotencyConfig config) {
+        this.repository = repository;
+        this.config = config;
+    }
+
+    @Scheduled(every = "${ged.idempotency.purge-every:15m}", delayed = "${ged.idempotency.purge-delay:1m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void run() {
+        var cutoff = Instant.now().minus(config.ttl()).toEpochMilli();
+        var purged = QuarkusTransaction.requiringNew().call(() -> repository.purge(cutoff));
+        if (purged > 0) {
+            LOG.infof("purged %d idempotency keys created before %d", purged, cutoff);
+        }
+    }
+}
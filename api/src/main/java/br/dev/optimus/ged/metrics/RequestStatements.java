@@ -0,0 +1,16 @@
+package br.dev.optimus.ged.metrics;
+
+import jakarta.enterprise.context.RequestScoped;
+
+@RequestScoped
+public class RequestStatements {
+    private int count;
+
+    public void increment() {
+        count++;
+    }
+
+    public int count() {
+        return count;
+    }
+}
@@ -0,0 +1,25 @@
+package br.dev.optimus.ged.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@PersistenceUnitExtension
+@ApplicationScoped
+public class StatementCounter implements StatementInspector {
+    private final RequestStatements statements;
+
+    public StatementCounter(RequestStatements statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (Arc.container().requestContext().isActive()) {
+            statements.increment();
+        }
+        return sql;
+    }
+}
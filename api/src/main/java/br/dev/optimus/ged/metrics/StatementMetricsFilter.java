@@ -0,0 +1,50 @@
+package br.dev.optimus.ged.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class StatementMetricsFilter implements ContainerResponseFilter {
+    private final ConcurrentHashMap<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final RequestStatements statements;
+    private final MeterRegistry registry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    public StatementMetricsFilter(RequestStatements statements, MeterRegistry registry) {
+        this.statements = statements;
+        this.registry = registry;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        var method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+        var summary = summaries.get(method);
+        if (summary == null) {
+            summary = summaries.computeIfAbsent(method, this::summary);
+        }
+        summary.record(statements.count());
+    }
+
+    private DistributionSummary summary(Method method) {
+        return DistributionSummary.builder("ged.http.sql.statements")
+                .description("SQL statements prepared per request")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(registry);
+    }
+}
@@ -0,0 +1,4 @@
+package br.dev.optimus.ged.model;
+
+public record BulkResult(int requested, int affected) {
+}
@@ -0,0 +1,6 @@
+package br.dev.optimus.ged.model;
+
+import java.util.List;
+
+public record Feed<T>(List<T> data, String cursor, boolean more) {
+}
@@ -8,6 +8,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -15,8 +16,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
+@Cacheable
 @Table(name = "groups", uniqueConstraints = { @UniqueConstraint(columnNames = { "name" }) })
 public class Group {
     @Id
@@ -37,6 +40,8 @@ public class Group {
     @Column(name = "deleted_at")
     @JsonbProperty("deleted_at")
     private long deletedAt;
+    @Version
+    private long version;
 
     public static class Builder {
         private String name;
@@ -193,4 +198,7 @@ public class Group {
         this.deletedAt = deletedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,55 @@
+package br.dev.optimus.ged.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+    public static final int PENDING = 0;
+
+    @Id
+    private String id;
+    private String fingerprint;
+    private int status;
+    private String body;
+    @Column(name = "created_at")
+    private long createdAt;
+
+    public IdempotencyKey() {
+    }
+
+    public IdempotencyKey(String id, String fingerprint, int status, String body, long createdAt) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.body = body;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isPending() {
+        return status == PENDING;
+    }
+}
@@ -0,0 +1,9 @@
+package br.dev.optimus.ged.model;
+
+import java.util.List;
+
+public record Page<T>(List<T> data, String next) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -1,6 +1,7 @@
 package br.dev.optimus.ged.model;
 
 import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
 import jakarta.json.bind.annotation.JsonbProperty;
 import jakarta.json.bind.annotation.JsonbTransient;
 import jakarta.persistence.Column;
@@ -10,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "users")
@@ -41,6 +43,8 @@ public class User {
     @Column(name = "deleted_at")
     @JsonbProperty("deleted_at")
     private long deletedAt;
+    @Version
+    private long version;
 
     public static class Builder {
         private Group group;
@@ -95,7 +99,7 @@ public class User {
         }
 
         public Builder password(String password) {
-            this.password = cryptPassword(password);
+            this.password = password;
             return this;
         }
 
@@ -127,6 +131,43 @@ public class User {
             boolean locked) {
     }
 
+    public record Summary(
+            Long id,
+            @ProjectedFieldName("group.id") @JsonbProperty("group_id") Integer groupId,
+            @ProjectedFieldName("group.name") @JsonbProperty("group_name") String groupName,
+            String name,
+            @JsonbProperty("job_title") String jobTitle,
+            String phone,
+            String email,
+            String username,
+            boolean visible,
+            boolean editable,
+            boolean locked,
+            @JsonbProperty("created_at") long createdAt,
+            @JsonbProperty("updated_at") long updatedAt,
+            @JsonbProperty("deleted_at") long deletedAt) {
+        public static Summary of(User user) {
+            var group = user.getGroup();
+            return new Summary(user.getId(), group == null ? null : group.getId(),
+                    group == null ? null : group.getName(), user.getName(), user.getJobTitle(), user.getPhone(),
+                    user.getEmail(), user.getUsername(), user.isVisible(), user.isEditable(), user.isLocked(),
+                    user.getCreatedAt(), user.getUpdatedAt(), user.getDeletedAt());
+        }
+    }
+
+    public record Availability(Boolean username, Boolean email) {
+    }
+
+    public record BatchResult(int index, Long id, String error) {
+        public static BatchResult created(int index, Long id) {
+            return new BatchResult(index, id, null);
+        }
+
+        public static BatchResult failed(int index, String error) {
+            return new BatchResult(index, null, error);
+        }
+    }
+
     public User() {
     }
 
@@ -212,7 +253,7 @@ public class User {
     }
 
     public void setPassword(String password) {
-        this.password = cryptPassword(password);
+        this.password = password;
     }
 
     public boolean isVisible() {
@@ -263,4 +304,7 @@ public class User {
         this.deletedAt = deletedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,72 @@
+package br.dev.optimus.ged.repository;
+
+import br.dev.optimus.ged.config.AvailabilityConfig;
+import br.dev.optimus.ged.model.User;
+import br.dev.optimus.ged.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+@ApplicationScoped
+public class AvailabilityIndex {
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+    private volatile boolean ready;
+
+    public AvailabilityIndex(AvailabilityConfig config, MeterRegistry registry) {
+        this.usernames = new BloomFilter(config.expectedInsertions(), config.falsePositiveRate());
+        this.emails = new BloomFilter(config.expectedInsertions(), config.falsePositiveRate());
+        this.negatives = Counter.builder("ged.availability.checks").tag("result", "negative").register(registry);
+        this.positives = Counter.builder("ged.availability.checks").tag("result", "positive").register(registry);
+        this.falsePositives = Counter.builder("ged.availability.false_positives").register(registry);
+        Gauge.builder("ged.availability.false_positive_rate", this, AvailabilityIndex::falsePositiveRate)
+                .register(registry);
+    }
+
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.add(username);
+        }
+        if (email != null) {
+            emails.add(email);
+        }
+    }
+
+    void onUser(@Observes(during = TransactionPhase.AFTER_SUCCESS) User.Summary change) {
+        add(change.username(), change.email());
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || record(usernames.mightContain(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || record(emails.mightContain(email));
+    }
+
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    private boolean record(boolean positive) {
+        (positive ? positives : negatives).increment();
+        return positive;
+    }
+
+    private double falsePositiveRate() {
+        var absent = falsePositives.count() + negatives.count();
+        return absent == 0 ? 0 : falsePositives.count() / absent;
+    }
+}
@@ -0,0 +1,49 @@
+package br.dev.optimus.ged.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+
+final class Changes {
+    private static final String SQL = "select id, change_tx, change_seq from %s where visible "
+            + "and updated_at > :since and (change_tx, change_seq) > (:tx, :seq) "
+            + "and change_tx < cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint) "
+            + "order by change_tx, change_seq limit :limit";
+
+    private Changes() {
+    }
+
+    record Position(long id, long tx, long seq) {
+    }
+
+    static long[] start(String cursor) {
+        return cursor == null || cursor.isBlank() ? new long[] { 0, 0 } : Cursor.decodePair(cursor);
+    }
+
+    static long since(Long since, String cursor) {
+        return cursor == null || cursor.isBlank() ? (since == null ? 0 : since) : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Position> after(EntityManager entityManager, String table, long since, long[] position,
+            int limit) {
+        return ((List<Object[]>) entityManager.createNativeQuery(SQL.formatted(table))
+                .setParameter("since", since)
+                .setParameter("tx", position[0])
+                .setParameter("seq", position[1])
+                .setParameter("limit", limit)
+                .getResultList())
+                .stream()
+                .map(row -> new Position(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue()))
+                .toList();
+    }
+
+    static String cursor(List<Position> positions, long[] start) {
+        if (positions.isEmpty()) {
+            return Cursor.encode(start[0], start[1]);
+        }
+        var last = positions.get(positions.size() - 1);
+        return Cursor.encode(last.tx(), last.seq());
+    }
+}
@@ -0,0 +1,46 @@
+package br.dev.optimus.ged.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import jakarta.ws.rs.BadRequestException;
+
+public final class Cursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private Cursor() {
+    }
+
+    public static String encode(long id) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    public static String encode(long first, long second) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(2 * Long.BYTES).putLong(first).putLong(second).array());
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        return bytes(cursor, Long.BYTES).getLong();
+    }
+
+    public static long[] decodePair(String cursor) {
+        var buffer = bytes(cursor, 2 * Long.BYTES);
+        return new long[] { buffer.getLong(), buffer.getLong() };
+    }
+
+    private static ByteBuffer bytes(String cursor, int length) {
+        try {
+            var bytes = DECODER.decode(cursor);
+            if (bytes.length != length) {
+                throw new BadRequestException("invalid cursor");
+            }
+            return ByteBuffer.wrap(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("invalid cursor");
+        }
+    }
+}
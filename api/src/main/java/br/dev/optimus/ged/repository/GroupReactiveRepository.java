@@ -0,0 +1,73 @@
+package br.dev.optimus.ged.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import br.dev.optimus.ged.config.PageConfig;
+import br.dev.optimus.ged.model.Group;
+import br.dev.optimus.ged.model.Page;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonArray;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.NotFoundException;
+
+@ApplicationScoped
+public class GroupReactiveRepository {
+    private static final String SELECT_GROUP = "select id, name, permissions, visible, editable, locked, "
+            + "created_at, updated_at, deleted_at from groups ";
+
+    private final Pool client;
+    private final PageConfig pageConfig;
+
+    public GroupReactiveRepository(Pool client, PageConfig pageConfig) {
+        this.client = client;
+        this.pageConfig = pageConfig;
+    }
+
+    public Uni<Page<Group>> listPage(String cursor, Integer size) {
+        var limit = pageConfig.clamp(size);
+        return client.preparedQuery(SELECT_GROUP
+                + "where visible and deleted_at = 0 and id > $1 order by id limit $2")
+                .execute(Tuple.of((int) Cursor.decode(cursor), limit + 1))
+                .map(rows -> {
+                    var data = new ArrayList<Group>(limit + 1);
+                    rows.forEach(row -> data.add(toGroup(row)));
+                    if (data.size() <= limit) {
+                        return new Page<>(data, null);
+                    }
+                    List<Group> page = data.subList(0, limit);
+                    return new Page<>(page, Cursor.encode(page.get(limit - 1).getId()));
+                });
+    }
+
+    public Uni<Group> findById(Integer id) {
+        return client.preparedQuery(SELECT_GROUP + "where id = $1 and visible and deleted_at = 0")
+                .execute(Tuple.of(id))
+                .map(rows -> rows.iterator().hasNext() ? toGroup(rows.iterator().next()) : null)
+                .onItem().ifNull().failWith(() -> new NotFoundException("group not found"));
+    }
+
+    private static Group toGroup(Row row) {
+        var array = (JsonArray) row.getValue("permissions");
+        Set<String> permissions = array == null
+                ? Set.of()
+                : array.stream().map(String::valueOf).collect(Collectors.toSet());
+        var group = Group.builder()
+                .name(row.getString("name"))
+                .permissions(permissions)
+                .visible(row.getBoolean("visible"))
+                .editable(row.getBoolean("editable"))
+                .locked(row.getBoolean("locked"))
+                .build();
+        group.setId(row.getInteger("id"));
+        group.setCreatedAt(row.getLong("created_at"));
+        group.setUpdatedAt(row.getLong("updated_at"));
+        group.setDeletedAt(row.getLong("deleted_at"));
+        return group;
+    }
+}
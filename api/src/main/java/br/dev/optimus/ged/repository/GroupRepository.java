@@ -2,18 +2,71 @@ package br.dev.optimus.ged.repository;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+
+import br.dev.optimus.ged.config.BatchConfig;
+import br.dev.optimus.ged.config.PageConfig;
+import br.dev.optimus.ged.exception.PreconditionFailedException;
+import br.dev.optimus.ged.exception.UniqueConstraintViolationException;
+import br.dev.optimus.ged.model.BulkResult;
+import br.dev.optimus.ged.model.Feed;
 import br.dev.optimus.ged.model.Group;
+import br.dev.optimus.ged.model.Page;
+import br.dev.optimus.ged.security.Permission;
+import br.dev.optimus.ged.security.PermissionCache;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.EntityTag;
 
 @ApplicationScoped
 public class GroupRepository implements PanacheRepositoryBase<Group, Integer> {
+    public static final String BY_ID_REGION = "group-by-id";
+
+    private static final String ARCHIVE_COLUMNS = "id, name, permissions, visible, editable, locked, created_at, "
+            + "updated_at, deleted_at, version";
+
+    private static final String ARCHIVE_SQL = "with moved as (delete from groups where id in ("
+            + "select g.id from groups g where g.deleted_at > 0 and g.deleted_at < :cutoff and g.id > :after "
+            + "and not exists (select 1 from users u where u.group_id = g.id) "
+            + "order by g.id limit :limit for update skip locked) returning " + ARCHIVE_COLUMNS + ") "
+            + "insert into groups_archive (" + ARCHIVE_COLUMNS + ", archived_at) "
+            + "select " + ARCHIVE_COLUMNS + ", :now from moved returning id";
+
+    private static final String PAGE_TAG_SQL = "select coalesce(max(change_seq), 0), count(*), coalesce(max(id), 0) "
+            + "from (select id, change_seq from groups where visible and deleted_at = 0 and id > :after "
+            + "order by id limit :limit) page";
+
+    private final PageConfig pageConfig;
+    private final BatchConfig batchConfig;
+    private final PermissionCache permissionCache;
+    private final Event<Group> changes;
+
+    public GroupRepository(PageConfig pageConfig, BatchConfig batchConfig, PermissionCache permissionCache,
+            Event<Group> changes) {
+        this.pageConfig = pageConfig;
+        this.batchConfig = batchConfig;
+        this.permissionCache = permissionCache;
+        this.changes = changes;
+    }
+
     private void validate(Group.DTO dto, Integer id) {
         if (dto.name() == null || dto.name().isBlank()) {
             throw new BadRequestException("name is required");
@@ -21,40 +74,157 @@ public class GroupRepository implements PanacheRepositoryBase<Group, Integer> {
         if (dto.permissions() == null || dto.permissions().isEmpty()) {
             throw new BadRequestException("permissions is required");
         }
-        if (id == null) {
-            if (existsByName(dto.name())) {
-                throw new BadRequestException("group name already exists");
-            }
-        } else {
-            if (existsByNameAndIdNot(dto.name(), id)) {
-                throw new BadRequestException("group name already exists");
+        if (id == null ? existsByName(dto.name()) : existsByNameAndIdNot(dto.name(), id)) {
+            throw new UniqueConstraintViolationException("group name already exists");
+        }
+    }
+
+    private void flushUnique() {
+        try {
+            flush();
+        } catch (OptimisticLockException e) {
+            throw new PreconditionFailedException("group was modified");
+        } catch (PersistenceException e) {
+            if (UniqueConstraintViolationException.violatedKey(e) != null) {
+                throw new UniqueConstraintViolationException("group name already exists");
             }
+            throw e;
         }
     }
 
-    private Set<String> cleanPermissions(Collection<String> permissions) {
-        var regex = "^(?!(root|admin|nobody)$)user:(list|create|update|delete)$";
+    public static Set<String> cleanPermissions(Collection<String> permissions) {
         return permissions.stream()
-                .filter(permission -> !permission.matches(regex))
+                .filter(Permission::isAssignable)
                 .collect(Collectors.toSet());
     }
 
+    private void evict(Integer id) {
+        var cache = getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Group.class, id);
+        cache.evictQueryRegion(BY_ID_REGION);
+        permissionCache.invalidate(id);
+    }
+
+    private Set<String> loadPermissions(Integer id) {
+        return find("id = ?1 and deletedAt = 0", id)
+                .firstResultOptional()
+                .map(Group::getPermissions)
+                .orElse(Set.of());
+    }
+
+    public long permissionMask(Integer id) {
+        return permissionCache.get(id, this::loadPermissions);
+    }
+
+    public Long cachedPermissionMask(Integer id) {
+        return permissionCache.peek(id);
+    }
+
+    @Timed("ged.repository")
+    public void warmPermissions() {
+        find("deletedAt = 0").stream().forEach(permissionCache::put);
+    }
+
+    @Timed("ged.repository")
     public List<Group> listAll() {
         return find("visible = true and deletedAt = 0").list();
     }
 
+    @Timed("ged.repository")
+    public Page<Group> listPage(String cursor, Integer size) {
+        var limit = pageConfig.clamp(size);
+        var data = find("visible = true and deletedAt = 0 and id > ?1", Sort.by("id"), (int) Cursor.decode(cursor))
+                .range(0, limit)
+                .list();
+        if (data.size() <= limit) {
+            return new Page<>(data, null);
+        }
+        data = data.subList(0, limit);
+        return new Page<>(data, Cursor.encode(data.get(limit - 1).getId()));
+    }
+
+    @Timed("ged.repository")
     public Group findById(Integer id) {
         return find("id = ?1 and visible = true and deletedAt = 0", id)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, BY_ID_REGION)
                 .firstResultOptional()
                 .orElseThrow(() -> new NotFoundException("group not found"));
     }
 
+    @Timed("ged.repository")
+    public Group findDeletedById(Integer id) {
+        return find("id = ?1 and visible = true and deletedAt > 0", id)
+                .firstResultOptional()
+                .orElseThrow(() -> new NotFoundException("group not found"));
+    }
+
+    @Timed("ged.repository")
+    public Feed<Group> changes(Long since, String cursor, Integer size) {
+        var limit = pageConfig.clamp(size);
+        var start = Changes.start(cursor);
+        var positions = Changes.after(getEntityManager(), "groups", Changes.since(since, cursor), start, limit + 1);
+        var more = positions.size() > limit;
+        if (more) {
+            positions = positions.subList(0, limit);
+        }
+        var ids = positions.stream().map(position -> (int) position.id()).toList();
+        var groups = findAllChanged(ids);
+        var data = ids.stream().map(groups::get).filter(Objects::nonNull).toList();
+        return new Feed<>(data, Changes.cursor(positions, start), more);
+    }
+
+    private Map<Integer, Group> findAllChanged(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return find("id in ?1", ids).stream().collect(Collectors.toMap(Group::getId, Function.identity()));
+    }
+
+    @Timed("ged.repository")
+    public EntityTag pageTag(String cursor, Integer size) {
+        var after = Cursor.decode(cursor);
+        var limit = pageConfig.clamp(size);
+        var row = (Object[]) getEntityManager().createNativeQuery(PAGE_TAG_SQL)
+                .setParameter("after", after)
+                .setParameter("limit", limit + 1)
+                .getSingleResult();
+        return new EntityTag(row[0] + "." + row[1] + "." + row[2] + "." + after + "." + limit, true);
+    }
+
+    @Timed("ged.repository")
+    public EntityTag entityTag(Integer id) {
+        return getEntityManager()
+                .createQuery("select g.version from Group g "
+                        + "where g.id = :id and g.visible = true and g.deletedAt = 0", Long.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(version -> new EntityTag(String.valueOf(version)))
+                .orElseThrow(() -> new NotFoundException("group not found"));
+    }
+
+    public EntityTag entityTag(Group group) {
+        return new EntityTag(String.valueOf(group.getVersion()));
+    }
+
+    @Timed("ged.repository")
+    public Map<Integer, Group> findAllById(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return find("id in ?1 and visible = true and deletedAt = 0", ids)
+                .stream()
+                .collect(Collectors.toMap(Group::getId, Function.identity()));
+    }
+
+    @Timed("ged.repository")
     public boolean existsByName(String name) {
-        return find("name = ?1", name).firstResultOptional().isPresent();
+        return count("name = ?1", name.toLowerCase()) > 0;
     }
 
     boolean existsByNameAndIdNot(String name, Integer id) {
-        return find("name = ?1 and id != ?2", name, id).firstResultOptional().isPresent();
+        return count("name = ?1 and id != ?2", name.toLowerCase(), id) > 0;
     }
 
     public void create(Group group) {
@@ -62,8 +232,11 @@ public class GroupRepository implements PanacheRepositoryBase<Group, Integer> {
         group.setCreatedAt(now);
         group.setUpdatedAt(now);
         persist(group);
+        changes.fire(group);
     }
 
+    @Transactional
+    @Timed("ged.repository")
     public Group create(Group.DTO dto) {
         validate(dto, null);
         var data = Group.builder()
@@ -72,34 +245,113 @@ public class GroupRepository implements PanacheRepositoryBase<Group, Integer> {
                 .locked(dto.locked())
                 .build();
         create(data);
+        flushUnique();
         return data;
     }
 
+    @SuppressWarnings("unchecked")
+    @Timed("ged.repository")
+    public List<Number> archiveBatch(long cutoff, long after, int limit) {
+        return getEntityManager().createNativeQuery(ARCHIVE_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Group.class)
+                .setParameter("cutoff", cutoff)
+                .setParameter("after", after)
+                .setParameter("limit", limit)
+                .setParameter("now", Instant.now().toEpochMilli())
+                .getResultList();
+    }
+
     public void update(Group group) {
         group.setUpdatedAt(Instant.now().toEpochMilli());
         persist(group);
+        evict(group.getId());
+        changes.fire(group);
     }
 
-    public Group update(Integer id, Group.DTO dto) {
+    @Transactional
+    @Timed("ged.repository")
+    public Group update(Integer id, Group.DTO dto, Long expectedVersion) {
         validate(dto, id);
         var data = findById(id);
+        if (expectedVersion != null && data.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("group was modified");
+        }
         data.setName(dto.name());
         data.setPermissions(cleanPermissions(dto.permissions()));
         data.setLocked(dto.locked());
         update(data);
+        flushUnique();
         return data;
     }
 
-    public void delete(Integer id) {
+    @Transactional
+    @Timed("ged.repository")
+    public void delete(Integer id, Long expectedVersion) {
         Group group = findById(id);
-        group.setDeletedAt(Instant.now().toEpochMilli());
+        if (expectedVersion != null && group.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("group was modified");
+        }
+        var now = Instant.now().toEpochMilli();
+        group.setDeletedAt(now);
+        group.setUpdatedAt(now);
         persist(group);
+        flushUnique();
+        evict(id);
+        changes.fire(group);
     }
 
+    @Transactional
+    @Timed("ged.repository")
+    public BulkResult deleteBatch(List<Integer> ids) {
+        var unique = validateIds(ids);
+        var now = Instant.now().toEpochMilli();
+        var affected = update("deletedAt = ?1, updatedAt = ?1, version = version + 1 "
+                + "where id in ?2 and visible = true and deletedAt = 0", now, unique);
+        changedAt(unique, now, affected);
+        return new BulkResult(unique.size(), affected);
+    }
+
+    @Transactional
+    @Timed("ged.repository")
+    public BulkResult restoreBatch(List<Integer> ids) {
+        var unique = validateIds(ids);
+        var now = Instant.now().toEpochMilli();
+        var affected = update("deletedAt = 0, updatedAt = ?1, version = version + 1 "
+                + "where id in ?2 and visible = true and deletedAt > 0", now, unique);
+        changedAt(unique, now, affected);
+        return new BulkResult(unique.size(), affected);
+    }
+
+    private Set<Integer> validateIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("ids is required");
+        }
+        if (ids.size() > batchConfig.maxSize()) {
+            throw new BadRequestException("at most " + batchConfig.maxSize() + " ids are allowed");
+        }
+        return new HashSet<>(ids);
+    }
+
+    private void changedAt(Set<Integer> ids, long now, int affected) {
+        if (affected == 0) {
+            return;
+        }
+        for (var group : find("id in ?1 and updatedAt = ?2", ids, now).list()) {
+            evict(group.getId());
+            changes.fire(group);
+        }
+    }
+
+    @Transactional
+    @Timed("ged.repository")
     public Group restore(Integer id) {
-        Group group = findById(id);
+        Group group = findDeletedById(id);
         group.setDeletedAt(0);
+        group.setUpdatedAt(Instant.now().toEpochMilli());
         persist(group);
+        evict(id);
+        changes.fire(group);
         return group;
     }
 }
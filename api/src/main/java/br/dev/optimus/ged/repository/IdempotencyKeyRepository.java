@@ -0,0 +1,43 @@
+package br.dev.optimus.ged.repository;
+
+import java.util.Optional;
+
+import br.dev.optimus.ged.model.IdempotencyKey;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class IdempotencyKeyRepository implements PanacheRepositoryBase<IdempotencyKey, String> {
+    private static final String CLAIM_SQL = "insert into idempotency_keys (id, fingerprint, status, body, created_at) "
+            + "values (:id, :fingerprint, 0, null, :now) on conflict (id) do update set "
+            + "fingerprint = excluded.fingerprint, status = 0, body = null, created_at = excluded.created_at "
+            + "where idempotency_keys.created_at < :cutoff "
+            + "or (idempotency_keys.status = 0 and idempotency_keys.created_at < :staleBefore)";
+
+    public Optional<IdempotencyKey> findActive(String id, long cutoff) {
+        return find("id = ?1 and createdAt >= ?2", id, cutoff).firstResultOptional();
+    }
+
+    public boolean claim(String id, String fingerprint, long now, long cutoff, long staleBefore) {
+        return getEntityManager().createNativeQuery(CLAIM_SQL)
+                .setParameter("id", id)
+                .setParameter("fingerprint", fingerprint)
+                .setParameter("now", now)
+                .setParameter("cutoff", cutoff)
+                .setParameter("staleBefore", staleBefore)
+                .executeUpdate() == 1;
+    }
+
+    public boolean complete(String id, long claimedAt, int status, String body) {
+        return update("status = ?1, body = ?2 where id = ?3 and createdAt = ?4 and status = 0",
+                status, body, id, claimedAt) == 1;
+    }
+
+    public void release(String id, long claimedAt) {
+        delete("id = ?1 and createdAt = ?2 and status = 0", id, claimedAt);
+    }
+
+    public long purge(long cutoff) {
+        return delete("createdAt < ?1", cutoff);
+    }
+}
@@ -0,0 +1,70 @@
+package br.dev.optimus.ged.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.dev.optimus.ged.config.PageConfig;
+import br.dev.optimus.ged.model.Page;
+import br.dev.optimus.ged.model.User;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.NotFoundException;
+
+@ApplicationScoped
+public class UserReactiveRepository {
+    private static final String SELECT_SUMMARY = "select u.id, u.group_id, g.name as group_name, u.name, "
+            + "u.job_title, u.phone, u.email, u.username, u.visible, u.editable, u.locked, "
+            + "u.created_at, u.updated_at, u.deleted_at from users u left join groups g on g.id = u.group_id ";
+
+    private final Pool client;
+    private final PageConfig pageConfig;
+
+    public UserReactiveRepository(Pool client, PageConfig pageConfig) {
+        this.client = client;
+        this.pageConfig = pageConfig;
+    }
+
+    public Uni<Page<User.Summary>> listPage(String cursor, Integer size) {
+        var limit = pageConfig.clamp(size);
+        return client.preparedQuery(SELECT_SUMMARY
+                + "where u.visible and u.deleted_at = 0 and u.id > $1 order by u.id limit $2")
+                .execute(Tuple.of(Cursor.decode(cursor), limit + 1))
+                .map(rows -> {
+                    var data = new ArrayList<User.Summary>(limit + 1);
+                    rows.forEach(row -> data.add(toSummary(row)));
+                    if (data.size() <= limit) {
+                        return new Page<>(data, null);
+                    }
+                    List<User.Summary> page = data.subList(0, limit);
+                    return new Page<>(page, Cursor.encode(page.get(limit - 1).id()));
+                });
+    }
+
+    public Uni<User.Summary> findSummaryById(Long id) {
+        return client.preparedQuery(SELECT_SUMMARY + "where u.id = $1 and u.visible and u.deleted_at = 0")
+                .execute(Tuple.of(id))
+                .map(rows -> rows.iterator().hasNext() ? toSummary(rows.iterator().next()) : null)
+                .onItem().ifNull().failWith(() -> new NotFoundException("user not found"));
+    }
+
+    private static User.Summary toSummary(Row row) {
+        return new User.Summary(
+                row.getLong("id"),
+                row.getInteger("group_id"),
+                row.getString("group_name"),
+                row.getString("name"),
+                row.getString("job_title"),
+                row.getString("phone"),
+                row.getString("email"),
+                row.getString("username"),
+                row.getBoolean("visible"),
+                row.getBoolean("editable"),
+                row.getBoolean("locked"),
+                row.getLong("created_at"),
+                row.getLong("updated_at"),
+                row.getLong("deleted_at"));
+    }
+}
@@ -1,20 +1,101 @@
 package br.dev.optimus.ged.repository;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+
+import br.dev.optimus.ged.config.BatchConfig;
+import br.dev.optimus.ged.config.ExportConfig;
+import br.dev.optimus.ged.config.PageConfig;
+import br.dev.optimus.ged.config.SearchConfig;
+import br.dev.optimus.ged.exception.PreconditionFailedException;
+import br.dev.optimus.ged.exception.UniqueConstraintViolationException;
+import br.dev.optimus.ged.metrics.RequestStatements;
+import br.dev.optimus.ged.model.BulkResult;
+import br.dev.optimus.ged.model.Feed;
+import br.dev.optimus.ged.model.Page;
 import br.dev.optimus.ged.model.User;
+import br.dev.optimus.ged.security.PasswordHasher;
+import br.dev.optimus.ged.security.RateLimiter;
+import br.dev.optimus.ged.security.TokenRevocations;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.arc.Arc;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.EntityTag;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepositoryBase<User, Long> {
+    private static final String ARCHIVE_COLUMNS = "id, group_id, name, job_title, phone, email, username, password, "
+            + "visible, editable, locked, created_at, updated_at, deleted_at, version";
+
+    private static final String ARCHIVE_SQL = "with moved as (delete from users where id in ("
+            + "select id from users where deleted_at > 0 and deleted_at < :cutoff and id > :after "
+            + "order by id limit :limit for update skip locked) returning " + ARCHIVE_COLUMNS + ") "
+            + "insert into users_archive (" + ARCHIVE_COLUMNS + ", archived_at) "
+            + "select " + ARCHIVE_COLUMNS + ", :now from moved returning id";
+
+    private static final String PAGE_TAG_SQL = "select "
+            + "coalesce(max(greatest(u.change_seq, coalesce(g.change_seq, 0))), 0), count(*), coalesce(max(u.id), 0) "
+            + "from (select id, group_id, change_seq from users where visible and deleted_at = 0 and id > :after "
+            + "order by id limit :limit) u "
+            + "left join groups g on g.id = u.group_id";
+
+    private static final String INSERT_SQL = "insert into users (group_id, name, job_title, phone, email, username, "
+            + "password, visible, editable, locked, created_at, updated_at, deleted_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final GroupRepository groupRepository;
+    private final AvailabilityIndex availability;
+    private final PasswordHasher passwordHasher;
+    private final TokenRevocations revocations;
+    private final RateLimiter rateLimiter;
+    private final PageConfig pageConfig;
+    private final ExportConfig exportConfig;
+    private final BatchConfig batchConfig;
+    private final SearchConfig searchConfig;
+    private final RequestStatements statements;
+    private final Event<User.Summary> changes;
 
-    public UserRepository(GroupRepository groupRepository) {
+    public UserRepository(GroupRepository groupRepository, AvailabilityIndex availability,
+            PasswordHasher passwordHasher, TokenRevocations revocations, RateLimiter rateLimiter,
+            PageConfig pageConfig, ExportConfig exportConfig, BatchConfig batchConfig, SearchConfig searchConfig,
+            RequestStatements statements, Event<User.Summary> changes) {
         this.groupRepository = groupRepository;
+        this.availability = availability;
+        this.passwordHasher = passwordHasher;
+        this.revocations = revocations;
+        this.rateLimiter = rateLimiter;
+        this.pageConfig = pageConfig;
+        this.exportConfig = exportConfig;
+        this.batchConfig = batchConfig;
+        this.searchConfig = searchConfig;
+        this.statements = statements;
+        this.changes = changes;
     }
 
     private void validatePassword(String password, String passwordConfirm) {
@@ -26,8 +107,7 @@ public class UserRepository implements PanacheRepositoryBase<User, Long> {
         }
     }
 
-    private void validate(User.DTO dto, Long id) {
-        var isUpdate = id != null;
+    private void validateRequired(User.DTO dto, boolean isUpdate) {
         if (dto.username() == null || dto.username().isBlank()) {
             throw new BadRequestException("username is required");
         }
@@ -37,52 +117,280 @@ public class UserRepository implements PanacheRepositoryBase<User, Long> {
         if (dto.password() == null || dto.password().isBlank() && !isUpdate) {
             throw new BadRequestException("password is required");
         }
-        if (!isUpdate) {
-            if (existsByUsername(dto.username())) {
-                throw new BadRequestException("user username already exists");
-            }
-            if (existsByEmail(dto.email())) {
-                throw new BadRequestException("user email already exists");
-            }
+    }
+
+    private void validateBatchItem(User.DTO dto) {
+        if (dto == null) {
+            throw new BadRequestException("user is required");
+        }
+        if (dto.name() == null || dto.name().isBlank()) {
+            throw new BadRequestException("name is required");
+        }
+        if (dto.jobTitle() == null) {
+            throw new BadRequestException("job_title is required");
+        }
+        validateRequired(dto, false);
+        validatePassword(dto.password(), dto.passwordConfirm());
+    }
+
+    private void validate(User.DTO dto, Long id) {
+        var isUpdate = id != null;
+        validateRequired(dto, isUpdate);
+        validateUnique(dto.username(), dto.email(), isUpdate ? id : 0L);
+        if (!isUpdate || dto.password() != null && !dto.password().isBlank()) {
             validatePassword(dto.password(), dto.passwordConfirm());
-        } else {
-            if (existsByUsernameAndIdNot(dto.username(), id)) {
-                throw new BadRequestException("user username already exists");
-            }
-            if (existsByEmailAndIdNot(dto.email(), id)) {
-                throw new BadRequestException("user email already exists");
-            }
-            if (dto.password() != null && !dto.password().isBlank()) {
-                validatePassword(dto.password(), dto.passwordConfirm());
-            }
         }
+    }
+
+    private void validateUnique(String username, String email, Long id) {
+        var row = getEntityManager()
+                .createQuery("select "
+                        + "coalesce(sum(case when u.username = :username then 1 else 0 end), 0), "
+                        + "coalesce(sum(case when u.email = :email then 1 else 0 end), 0) "
+                        + "from User u where (u.username = :username or u.email = :email) and u.id != :id",
+                        Object[].class)
+                .setParameter("username", username.toLowerCase())
+                .setParameter("email", email.toLowerCase())
+                .setParameter("id", id)
+                .getSingleResult();
+        if (((Number) row[0]).longValue() > 0) {
+            throw new UniqueConstraintViolationException("user username already exists");
+        }
+        if (((Number) row[1]).longValue() > 0) {
+            throw new UniqueConstraintViolationException("user email already exists");
+        }
+    }
+
+    private void flushUnique() {
+        try {
+            flush();
+        } catch (OptimisticLockException e) {
+            throw new PreconditionFailedException("user was modified");
+        } catch (PersistenceException e) {
+            throw translate(e);
+        }
+    }
 
+    private RuntimeException translate(RuntimeException e) {
+        var key = UniqueConstraintViolationException.violatedKey(e);
+        if (key == null) {
+            return e;
+        }
+        if (key.contains("email")) {
+            return new UniqueConstraintViolationException("user email already exists");
+        }
+        if (key.contains("username")) {
+            return new UniqueConstraintViolationException("user username already exists");
+        }
+        return new UniqueConstraintViolationException("user already exists");
     }
 
+    @Timed("ged.repository")
     public List<User> listAll() {
         return find("visible = true and deletedAt = 0").list();
     }
 
+    @Timed("ged.repository")
+    public Page<User.Summary> listPage(String cursor, Integer size) {
+        var limit = pageConfig.clamp(size);
+        var data = find("visible = true and deletedAt = 0 and id > ?1", Sort.by("id"), Cursor.decode(cursor))
+                .project(User.Summary.class)
+                .range(0, limit)
+                .list();
+        if (data.size() <= limit) {
+            return new Page<>(data, null);
+        }
+        data = data.subList(0, limit);
+        return new Page<>(data, Cursor.encode(data.get(limit - 1).id()));
+    }
+
+    @Timed("ged.repository")
+    public List<User.Summary> search(String q, Integer limit) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("q is required");
+        }
+        var max = limit == null || limit <= 0 ? searchConfig.limit() : Math.min(limit, searchConfig.maxLimit());
+        var term = escapeLike(q.strip());
+        var lower = term.toLowerCase();
+        var upper = term.toUpperCase();
+        var substring = term.length() >= searchConfig.substringMinLength();
+        var match = substring
+                ? "(username like :lowerAny or email like :lowerAny or name like :upperAny or jobTitle like :upperAny)"
+                : "(username like :lowerPrefix or email like :lowerPrefix or name like :upperPrefix "
+                        + "or jobTitle like :upperPrefix)";
+        var parameters = Parameters.with("lowerPrefix", lower + "%")
+                .and("upperPrefix", upper + "%")
+                .and("lower", lower)
+                .and("upper", upper);
+        if (substring) {
+            parameters.and("lowerAny", "%" + lower + "%").and("upperAny", "%" + upper + "%");
+        }
+        return find("visible = true and deletedAt = 0 and " + match + " order by "
+                + "case when username like :lowerPrefix or email like :lowerPrefix or name like :upperPrefix "
+                + "or jobTitle like :upperPrefix then 0 else 1 end, "
+                + "greatest(function('similarity', username, :lower), function('similarity', email, :lower), "
+                + "function('similarity', name, :upper), function('similarity', coalesce(jobTitle, ''), :upper)) "
+                + "desc, id", parameters)
+                .project(User.Summary.class)
+                .range(0, max - 1)
+                .list();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Timed("ged.repository")
+    public Feed<User.Summary> changes(Long since, String cursor, Integer size) {
+        var limit = pageConfig.clamp(size);
+        var start = Changes.start(cursor);
+        var positions = Changes.after(getEntityManager(), "users", Changes.since(since, cursor), start, limit + 1);
+        var more = positions.size() > limit;
+        if (more) {
+            positions = positions.subList(0, limit);
+        }
+        var ids = positions.stream().map(Changes.Position::id).toList();
+        var summaries = ids.isEmpty()
+                ? Map.<Long, User.Summary>of()
+                : find("id in ?1", ids).project(User.Summary.class).stream()
+                        .collect(Collectors.toMap(User.Summary::id, Function.identity()));
+        var data = ids.stream().map(summaries::get).filter(Objects::nonNull).toList();
+        return new Feed<>(data, Changes.cursor(positions, start), more);
+    }
+
+    @Timed("ged.repository")
+    public EntityTag pageTag(String cursor, Integer size) {
+        var after = Cursor.decode(cursor);
+        var limit = pageConfig.clamp(size);
+        var row = (Object[]) getEntityManager().createNativeQuery(PAGE_TAG_SQL)
+                .setParameter("after", after)
+                .setParameter("limit", limit + 1)
+                .getSingleResult();
+        return new EntityTag(row[0] + "." + row[1] + "." + row[2] + "." + after + "." + limit, true);
+    }
+
+    @Timed("ged.repository")
+    public EntityTag entityTag(Long id) {
+        return getEntityManager()
+                .createQuery("select u.version, coalesce(g.version, 0) from User u left join u.group g "
+                        + "where u.id = :id and u.visible = true and u.deletedAt = 0", Object[].class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(row -> new EntityTag(row[0] + "." + row[1]))
+                .orElseThrow(() -> new NotFoundException("user not found"));
+    }
+
+    public EntityTag entityTag(User user) {
+        var group = user.getGroup();
+        return new EntityTag(user.getVersion() + "." + (group == null ? 0 : group.getVersion()));
+    }
+
+    public void export(Consumer<User> consumer) {
+        var limit = exportConfig.fetchSize();
+        var after = 0L;
+        List<User> page;
+        do {
+            var from = after;
+            page = QuarkusTransaction.requiringNew().call(() -> exportPage(from, limit));
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == limit);
+    }
+
+    private List<User> exportPage(long after, int limit) {
+        return getEntityManager().unwrap(Session.class)
+                .createSelectionQuery("from User u left join fetch u.group "
+                        + "where u.visible = true and u.deletedAt = 0 and u.id > :after order by u.id", User.class)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .list();
+    }
+
+    @Timed("ged.repository")
     public User findById(Long id) {
         return find("id = ?1 and visible = true and deletedAt = 0", id)
                 .firstResultOptional()
                 .orElseThrow(() -> new NotFoundException("user not found"));
     }
 
+    @Timed("ged.repository")
+    public User findDeletedById(Long id) {
+        return find("id = ?1 and visible = true and deletedAt > 0", id)
+                .firstResultOptional()
+                .orElseThrow(() -> new NotFoundException("user not found"));
+    }
+
+    @Timed("ged.repository")
+    public User.Summary findSummaryById(Long id) {
+        return find("id = ?1 and visible = true and deletedAt = 0", id)
+                .project(User.Summary.class)
+                .firstResultOptional()
+                .orElseThrow(() -> new NotFoundException("user not found"));
+    }
+
+    @Timed("ged.repository")
+    public Optional<User> findActiveByUsername(String username) {
+        return find("username = ?1 and deletedAt = 0", username.toLowerCase()).firstResultOptional();
+    }
+
+    @Timed("ged.repository")
+    public void warmAvailability() {
+        getEntityManager()
+                .createQuery("select u.username, u.email from User u", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportConfig.fetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .forEach(row -> availability.add((String) row[0], (String) row[1]));
+        availability.markReady();
+    }
+
+    public User.Availability availability(String username, String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            throw new BadRequestException("username or email is required");
+        }
+        Boolean usernameAvailable = null;
+        if (username != null && !username.isBlank()) {
+            var value = username.toLowerCase();
+            usernameAvailable = !availability.mightContainUsername(value) || !confirm(existsByUsername(value));
+        }
+        Boolean emailAvailable = null;
+        if (email != null && !email.isBlank()) {
+            var value = email.toLowerCase();
+            emailAvailable = !availability.mightContainEmail(value) || !confirm(existsByEmail(value));
+        }
+        return new User.Availability(usernameAvailable, emailAvailable);
+    }
+
+    private boolean confirm(boolean exists) {
+        if (!exists) {
+            availability.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    @Timed("ged.repository")
     public boolean existsByUsername(String username) {
-        return find("username = ?1", username).firstResultOptional().isPresent();
+        return count("username = ?1", username.toLowerCase()) > 0;
     }
 
+    @Timed("ged.repository")
     public boolean existsByEmail(String email) {
-        return find("email = ?1", email).firstResultOptional().isPresent();
+        return count("email = ?1", email.toLowerCase()) > 0;
     }
 
+    @Timed("ged.repository")
     public boolean existsByUsernameAndIdNot(String username, Long id) {
-        return find("username = ?1 and id != ?2", username, id).firstResultOptional().isPresent();
+        return count("username = ?1 and id != ?2", username.toLowerCase(), id) > 0;
     }
 
+    @Timed("ged.repository")
     public boolean existsByEmailAndIdNot(String email, Long id) {
-        return find("email = ?1 and id != ?2", email, id).firstResultOptional().isPresent();
+        return count("email = ?1 and id != ?2", email.toLowerCase(), id) > 0;
     }
 
     public void create(User data) {
@@ -90,10 +398,14 @@ public class UserRepository implements PanacheRepositoryBase<User, Long> {
         data.setCreatedAt(now);
         data.setUpdatedAt(now);
         persist(data);
+        changes.fire(User.Summary.of(data));
     }
 
+    @Transactional
+    @Timed("ged.repository")
     public User create(User.DTO dto) {
         validate(dto, null);
+        rateLimiter.acquire("password", "user:" + dto.username().toLowerCase());
         var group = groupRepository.findById(dto.groupId());
         var data = User.builder()
                 .group(group)
@@ -102,44 +414,283 @@ public class UserRepository implements PanacheRepositoryBase<User, Long> {
                 .phone(dto.phone())
                 .username(dto.username())
                 .email(dto.email())
-                .password(dto.password())
+                .password(passwordHasher.hash(dto.password()))
                 .locked(dto.locked())
                 .build();
         create(data);
+        flushUnique();
         return data;
     }
 
+    @Transactional
+    @Timed("ged.repository")
+    public List<User.BatchResult> createBatch(List<User.DTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BadRequestException("users is required");
+        }
+        if (dtos.size() > batchConfig.maxSize()) {
+            throw new BadRequestException("batch must have at most " + batchConfig.maxSize() + " users");
+        }
+
+        var errors = new String[dtos.size()];
+        var usernames = new HashSet<String>();
+        var emails = new HashSet<String>();
+        var groupIds = new HashSet<Integer>();
+        for (var i = 0; i < dtos.size(); i++) {
+            var dto = dtos.get(i);
+            try {
+                validateBatchItem(dto);
+            } catch (BadRequestException e) {
+                errors[i] = e.getMessage();
+                continue;
+            }
+            if (!usernames.add(dto.username().toLowerCase())) {
+                errors[i] = "user username already exists";
+            } else if (!emails.add(dto.email().toLowerCase())) {
+                errors[i] = "user email already exists";
+            } else if (dto.groupId() != null) {
+                groupIds.add(dto.groupId());
+            }
+        }
+
+        var takenUsernames = new HashSet<String>();
+        var takenEmails = new HashSet<String>();
+        if (!usernames.isEmpty()) {
+            getEntityManager()
+                    .createQuery("select u.username, u.email from User u "
+                            + "where u.username in :usernames or u.email in :emails", Object[].class)
+                    .setParameter("usernames", usernames)
+                    .setParameter("emails", emails)
+                    .getResultStream()
+                    .forEach(row -> {
+                        takenUsernames.add((String) row[0]);
+                        takenEmails.add((String) row[1]);
+                    });
+        }
+        var groups = groupRepository.findAllById(groupIds);
+
+        var indexes = new ArrayList<Integer>();
+        var passwords = new ArrayList<String>();
+        for (var i = 0; i < dtos.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            var dto = dtos.get(i);
+            if (takenUsernames.contains(dto.username().toLowerCase())) {
+                errors[i] = "user username already exists";
+            } else if (takenEmails.contains(dto.email().toLowerCase())) {
+                errors[i] = "user email already exists";
+            } else if (dto.groupId() == null || !groups.containsKey(dto.groupId())) {
+                errors[i] = "group not found";
+            } else {
+                indexes.add(i);
+                passwords.add(dto.password());
+            }
+        }
+
+        for (var index : indexes) {
+            rateLimiter.acquire("password", "user:" + dtos.get(index).username().toLowerCase());
+        }
+        var hashes = passwordHasher.hashAll(passwords);
+        var now = Instant.now().toEpochMilli();
+        var users = new ArrayList<User>(indexes.size());
+        for (var i = 0; i < indexes.size(); i++) {
+            var dto = dtos.get(indexes.get(i));
+            var user = User.builder()
+                    .group(groups.get(dto.groupId()))
+                    .name(dto.name())
+                    .jobTitle(dto.jobTitle())
+                    .phone(dto.phone())
+                    .username(dto.username())
+                    .email(dto.email())
+                    .password(hashes.get(i))
+                    .locked(dto.locked())
+                    .build();
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            users.add(user);
+        }
+        try {
+            insertBatch(users);
+        } catch (PersistenceException e) {
+            throw translate(e);
+        }
+        users.forEach(user -> changes.fire(User.Summary.of(user)));
+
+        var results = new ArrayList<User.BatchResult>(dtos.size());
+        var created = 0;
+        for (var i = 0; i < dtos.size(); i++) {
+            if (errors[i] != null) {
+                results.add(User.BatchResult.failed(i, errors[i]));
+            } else {
+                results.add(User.BatchResult.created(i, users.get(created++).getId()));
+            }
+        }
+        return results;
+    }
+
+    private void insertBatch(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (var statement = connection.prepareStatement(INSERT_SQL, new String[] { "id" })) {
+                var flushed = 0;
+                for (var i = 0; i < users.size(); i++) {
+                    bind(statement, users.get(i));
+                    statement.addBatch();
+                    if (i + 1 - flushed == batchConfig.jdbcSize() || i + 1 == users.size()) {
+                        statement.executeBatch();
+                        countStatement();
+                        try (var keys = statement.getGeneratedKeys()) {
+                            while (keys.next()) {
+                                users.get(flushed++).setId(keys.getLong(1));
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    private void countStatement() {
+        if (Arc.container().requestContext().isActive()) {
+            statements.increment();
+        }
+    }
+
+    private void bind(PreparedStatement statement, User user) throws SQLException {
+        statement.setInt(1, user.getGroup().getId());
+        statement.setString(2, user.getName());
+        statement.setString(3, user.getJobTitle());
+        statement.setString(4, user.getPhone());
+        statement.setString(5, user.getEmail());
+        statement.setString(6, user.getUsername());
+        statement.setString(7, user.getPassword());
+        statement.setBoolean(8, user.isVisible());
+        statement.setBoolean(9, user.isEditable());
+        statement.setBoolean(10, user.isLocked());
+        statement.setLong(11, user.getCreatedAt());
+        statement.setLong(12, user.getUpdatedAt());
+        statement.setLong(13, user.getDeletedAt());
+        statement.setLong(14, user.getVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Timed("ged.repository")
+    public List<Number> archiveBatch(long cutoff, long after, int limit) {
+        return getEntityManager().createNativeQuery(ARCHIVE_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(User.class)
+                .setParameter("cutoff", cutoff)
+                .setParameter("after", after)
+                .setParameter("limit", limit)
+                .setParameter("now", Instant.now().toEpochMilli())
+                .getResultList();
+    }
+
     public void update(User data) {
         data.setUpdatedAt(Instant.now().toEpochMilli());
         persist(data);
+        changes.fire(User.Summary.of(data));
     }
 
-    public User update(Long id, User.DTO dto) {
+    @Transactional
+    @Timed("ged.repository")
+    public User update(Long id, User.DTO dto, Long expectedVersion) {
         validate(dto, id);
         var data = findById(id);
+        if (expectedVersion != null && data.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("user was modified");
+        }
+        if (dto.password() != null && !dto.password().isBlank()) {
+            rateLimiter.acquire("password", "user:" + data.getUsername());
+        }
         data.setName(dto.name());
         data.setJobTitle(dto.jobTitle());
         data.setPhone(dto.phone());
         data.setUsername(dto.username());
         data.setEmail(dto.email());
+        var revoke = data.isLocked() != dto.locked();
         if (dto.password() != null && !dto.password().isBlank()) {
-            data.setPassword(dto.password());
+            data.setPassword(passwordHasher.hash(dto.password()));
+            revoke = true;
         }
         data.setLocked(dto.locked());
         update(data);
+        flushUnique();
+        if (revoke) {
+            revocations.revoke(id);
+        }
         return data;
     }
 
-    public void delete(Long id) {
+    @Transactional
+    @Timed("ged.repository")
+    public void delete(Long id, Long expectedVersion) {
         var user = findById(id);
-        user.setDeletedAt(Instant.now().toEpochMilli());
+        if (expectedVersion != null && user.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("user was modified");
+        }
+        var now = Instant.now().toEpochMilli();
+        user.setDeletedAt(now);
+        user.setUpdatedAt(now);
         persist(user);
+        flushUnique();
+        revocations.revoke(id);
+        changes.fire(User.Summary.of(user));
     }
 
+    @Transactional
+    @Timed("ged.repository")
+    public BulkResult deleteBatch(List<Long> ids) {
+        var unique = validateIds(ids);
+        var now = Instant.now().toEpochMilli();
+        var affected = update("deletedAt = ?1, updatedAt = ?1, version = version + 1 "
+                + "where id in ?2 and visible = true and deletedAt = 0", now, unique);
+        for (var summary : changedAt(unique, now, affected)) {
+            revocations.revoke(summary.id());
+            changes.fire(summary);
+        }
+        return new BulkResult(unique.size(), affected);
+    }
+
+    @Transactional
+    @Timed("ged.repository")
+    public BulkResult restoreBatch(List<Long> ids) {
+        var unique = validateIds(ids);
+        var now = Instant.now().toEpochMilli();
+        var affected = update("deletedAt = 0, updatedAt = ?1, version = version + 1 "
+                + "where id in ?2 and visible = true and deletedAt > 0", now, unique);
+        changedAt(unique, now, affected).forEach(changes::fire);
+        return new BulkResult(unique.size(), affected);
+    }
+
+    private Set<Long> validateIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("ids is required");
+        }
+        if (ids.size() > batchConfig.maxSize()) {
+            throw new BadRequestException("at most " + batchConfig.maxSize() + " ids are allowed");
+        }
+        return new HashSet<>(ids);
+    }
+
+    private List<User.Summary> changedAt(Set<Long> ids, long now, int affected) {
+        if (affected == 0) {
+            return List.of();
+        }
+        return find("id in ?1 and updatedAt = ?2", ids, now).project(User.Summary.class).list();
+    }
+
+    @Transactional
+    @Timed("ged.repository")
     public User restore(Long id) {
-        var data = findById(id);
+        var data = findDeletedById(id);
         data.setDeletedAt(0);
+        data.setUpdatedAt(Instant.now().toEpochMilli());
         persist(data);
+        changes.fire(User.Summary.of(data));
         return data;
     }
 }
@@ -0,0 +1,123 @@
+package br.dev.optimus.ged.security;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import br.dev.optimus.ged.config.PasswordConfig;
+import br.dev.optimus.ged.model.User;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.ServiceUnavailableException;
+
+@ApplicationScoped
+public class PasswordHasher {
+    private final ThreadPoolExecutor executor;
+    private final long retryAfter;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordConfig config, MeterRegistry registry) {
+        var threads = config.threads().orElse(Runtime.getRuntime().availableProcessors());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.queueSize()), new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = config.retryAfter();
+        this.hashTimer = Timer.builder("ged.password.hash")
+                .description("bcrypt duration")
+                .tag("operation", "hash")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.verifyTimer = Timer.builder("ged.password.hash")
+                .description("bcrypt duration")
+                .tag("operation", "verify")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("ged.password.rejected")
+                .description("hash requests rejected because the queue was full")
+                .register(registry);
+        Gauge.builder("ged.password.queue", executor, e -> e.getQueue().size())
+                .description("hash requests waiting for a worker")
+                .register(registry);
+        Gauge.builder("ged.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("hash workers currently busy")
+                .register(registry);
+    }
+
+    public CompletableFuture<String> hashAsync(String password) {
+        try {
+            return submit(password);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("password hashing is saturated", retryAfter);
+        }
+    }
+
+    public String hash(String password) {
+        return await(hashAsync(password));
+    }
+
+    public boolean verify(String password, String hash) {
+        try {
+            return await(CompletableFuture.supplyAsync(
+                    () -> verifyTimer.record(() -> BcryptUtil.matches(password, hash)), executor));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("password hashing is saturated", retryAfter);
+        }
+    }
+
+    public List<String> hashAll(List<String> passwords) {
+        var futures = new ArrayList<CompletableFuture<String>>(passwords.size());
+        var pending = new ArrayDeque<CompletableFuture<String>>();
+        for (var password : passwords) {
+            while (true) {
+                try {
+                    var future = submit(password);
+                    futures.add(future);
+                    pending.add(future);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    var oldest = pending.poll();
+                    if (oldest == null) {
+                        rejected.increment();
+                        throw new ServiceUnavailableException("password hashing is saturated", retryAfter);
+                    }
+                    await(oldest);
+                }
+            }
+        }
+        return futures.stream().map(this::await).toList();
+    }
+
+    private CompletableFuture<String> submit(String password) {
+        return CompletableFuture.supplyAsync(() -> hashTimer.record(() -> User.cryptPassword(password)), executor);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,85 @@
+package br.dev.optimus.ged.security;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public enum Permission {
+    ROOT("root", true),
+    ADMIN("admin", true),
+    NOBODY("nobody", true),
+    USER_LIST("user:list", false),
+    USER_CREATE("user:create", false),
+    USER_UPDATE("user:update", false),
+    USER_DELETE("user:delete", false),
+    GROUP_LIST("group:list", false),
+    GROUP_CREATE("group:create", false),
+    GROUP_UPDATE("group:update", false),
+    GROUP_DELETE("group:delete", false);
+
+    public static final long ALL = -1L;
+
+    private static final Map<String, Permission> BY_CODE = new HashMap<>();
+
+    static {
+        for (var permission : values()) {
+            BY_CODE.put(permission.code, permission);
+        }
+    }
+
+    private final String code;
+    private final boolean reserved;
+    private final long bit;
+
+    Permission(String code, boolean reserved) {
+        this.code = code;
+        this.reserved = reserved;
+        this.bit = 1L << ordinal();
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    public static Permission of(String code) {
+        var permission = BY_CODE.get(code);
+        if (permission == null) {
+            throw new IllegalArgumentException("unknown permission " + code);
+        }
+        return permission;
+    }
+
+    public static boolean isAssignable(String code) {
+        var permission = BY_CODE.get(code);
+        return permission != null && !permission.reserved;
+    }
+
+    public static long mask(Collection<String> codes) {
+        if (codes == null) {
+            return 0;
+        }
+        var mask = 0L;
+        for (var code : codes) {
+            var permission = BY_CODE.get(code);
+            if (permission == ROOT || permission == ADMIN) {
+                return ALL;
+            }
+            if (permission != null) {
+                mask |= permission.bit;
+            }
+        }
+        return mask;
+    }
+
+    public static long mask(String... codes) {
+        var mask = 0L;
+        for (var code : codes) {
+            mask |= of(code).bit;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,41 @@
+package br.dev.optimus.ged.security;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import br.dev.optimus.ged.model.Group;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+@ApplicationScoped
+public class PermissionCache {
+    private final ConcurrentHashMap<Integer, Long> masks = new ConcurrentHashMap<>();
+
+    public long get(Integer groupId, Function<Integer, Set<String>> loader) {
+        var mask = masks.get(groupId);
+        if (mask != null) {
+            return mask;
+        }
+        var loaded = Permission.mask(loader.apply(groupId));
+        var previous = masks.putIfAbsent(groupId, loaded);
+        return previous == null ? loaded : previous;
+    }
+
+    public Long peek(Integer groupId) {
+        return masks.get(groupId);
+    }
+
+    public void put(Group group) {
+        masks.put(group.getId(), group.getDeletedAt() == 0 ? Permission.mask(group.getPermissions()) : 0L);
+    }
+
+    public void invalidate(Integer groupId) {
+        masks.remove(groupId);
+    }
+
+    void onGroup(@Observes(during = TransactionPhase.AFTER_SUCCESS) Group group) {
+        put(group);
+    }
+}
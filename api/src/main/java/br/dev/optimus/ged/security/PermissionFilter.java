@@ -0,0 +1,89 @@
+package br.dev.optimus.ged.security;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveContainerRequestContext;
+
+import br.dev.optimus.ged.repository.GroupRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.BlockingOperationControl;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+@RequiresPermission
+@Priority(Priorities.AUTHORIZATION)
+public class PermissionFilter implements ContainerRequestFilter {
+    private final ConcurrentHashMap<Method, Long> required = new ConcurrentHashMap<>();
+    private final SecurityIdentity identity;
+    private final GroupRepository groupRepository;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    public PermissionFilter(SecurityIdentity identity, GroupRepository groupRepository) {
+        this.identity = identity;
+        this.groupRepository = groupRepository;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        if (identity.isAnonymous()) {
+            throw new NotAuthorizedException("authentication required", "Bearer");
+        }
+        var method = resourceInfo.getResourceMethod();
+        var mask = required.get(method);
+        if (mask == null) {
+            mask = required.computeIfAbsent(method, PermissionFilter::requiredMask);
+        }
+        Integer groupId = identity.getAttribute(TokenIdentityProvider.GROUP_ID);
+        if (groupId == null) {
+            throw new ForbiddenException("permission denied");
+        }
+        var granted = groupRepository.cachedPermissionMask(groupId);
+        if (granted == null) {
+            if (!BlockingOperationControl.isBlockingAllowed()) {
+                loadOffEventLoop((ResteasyReactiveContainerRequestContext) context, groupId, mask);
+                return;
+            }
+            granted = groupRepository.permissionMask(groupId);
+        }
+        if ((granted & mask) != mask) {
+            throw new ForbiddenException("permission denied");
+        }
+    }
+
+    private void loadOffEventLoop(ResteasyReactiveContainerRequestContext context, Integer groupId, long mask) {
+        context.suspend();
+        Infrastructure.getDefaultWorkerPool().execute(() -> {
+            try {
+                var granted = QuarkusTransaction.requiringNew().call(() -> groupRepository.permissionMask(groupId));
+                if ((granted & mask) != mask) {
+                    context.abortWith(Response.status(Response.Status.FORBIDDEN).build());
+                }
+                context.resume();
+            } catch (Throwable e) {
+                context.resume(e);
+            }
+        });
+    }
+
+    private static long requiredMask(Method method) {
+        var annotation = method.getAnnotation(RequiresPermission.class);
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getAnnotation(RequiresPermission.class);
+        }
+        return annotation == null ? 0 : Permission.mask(annotation.value());
+    }
+}
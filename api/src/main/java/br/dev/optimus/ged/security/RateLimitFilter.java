@@ -0,0 +1,42 @@
+package br.dev.optimus.ged.security;
+
+import br.dev.optimus.ged.idempotency.IdempotencyStore;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+@RateLimited
+@Priority(Priorities.AUTHORIZATION + 1)
+public class RateLimitFilter implements ContainerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final RoutingContext routingContext;
+    private final IdempotencyStore idempotency;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RoutingContext routingContext, IdempotencyStore idempotency) {
+        this.rateLimiter = rateLimiter;
+        this.routingContext = routingContext;
+        this.idempotency = idempotency;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        var annotation = resourceInfo.getResourceMethod().getAnnotation(RateLimited.class);
+        if (annotation == null) {
+            annotation = resourceInfo.getResourceClass().getAnnotation(RateLimited.class);
+        }
+        var scope = annotation.idempotencyScope();
+        if (!scope.isEmpty() && idempotency.isStored(scope, context.getHeaderString(IdempotencyStore.HEADER))) {
+            return;
+        }
+        rateLimiter.acquire(annotation.value(), RateLimiter.clientKey(routingContext));
+    }
+}
@@ -0,0 +1,112 @@
+package br.dev.optimus.ged.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import br.dev.optimus.ged.config.RateLimitConfig;
+import br.dev.optimus.ged.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class RateLimiter {
+    private final boolean enabled;
+    private final Map<String, RateLimitConfig.Bucket> limits;
+    private final Stripe[] stripes;
+    private final int perStripe;
+    private final long idleNanos;
+    private final MeterRegistry registry;
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public RateLimiter(RateLimitConfig config, MeterRegistry registry) {
+        this.enabled = config.enabled();
+        this.limits = config.buckets();
+        var size = Integer.highestOneBit(Math.max(1, config.stripes()));
+        this.stripes = new Stripe[size];
+        for (var i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.perStripe = Math.max(1, config.maxKeys() / size);
+        this.idleNanos = config.idleTimeout().toNanos();
+        this.registry = registry;
+    }
+
+    public static String clientKey(RoutingContext routingContext) {
+        var address = routingContext.request().remoteAddress();
+        return address == null ? null : "ip:" + address.host();
+    }
+
+    public void acquire(String name, String key) {
+        acquire(name, key, 1);
+    }
+
+    public void acquire(String name, String key, int permits) {
+        var limit = limits.get(name);
+        if (!enabled || limit == null || key == null || permits <= 0) {
+            return;
+        }
+        if (permits > limit.capacity()) {
+            reject(name, limit.period().toSeconds());
+        }
+        var id = name + ":" + key;
+        var hash = id.hashCode();
+        var stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        var rate = (double) limit.capacity() / limit.period().toNanos();
+        var now = System.nanoTime();
+        long retryAfter;
+        stripe.lock.lock();
+        try {
+            evict(stripe, now);
+            var bucket = stripe.buckets.get(id);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = limit.capacity();
+                bucket.updatedAt = now;
+                stripe.buckets.put(id, bucket);
+            }
+            bucket.tokens = Math.min(limit.capacity(), bucket.tokens + (now - bucket.updatedAt) * rate);
+            bucket.updatedAt = now;
+            if (bucket.tokens >= permits) {
+                bucket.tokens -= permits;
+                return;
+            }
+            retryAfter = (long) Math.ceil((permits - bucket.tokens) / rate / TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            stripe.lock.unlock();
+        }
+        reject(name, retryAfter);
+    }
+
+    private void reject(String name, long retryAfter) {
+        Counter.builder("ged.rate-limit.rejected")
+                .description("requests rejected by the rate limiter")
+                .tag("bucket", name)
+                .register(registry)
+                .increment();
+        throw new TooManyRequestsException("too many requests", Math.max(1, retryAfter));
+    }
+
+    private void evict(Stripe stripe, long now) {
+        for (Iterator<Bucket> it = stripe.buckets.values().iterator(); it.hasNext();) {
+            var bucket = it.next();
+            if (stripe.buckets.size() < perStripe && now - bucket.updatedAt < idleNanos) {
+                return;
+            }
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.dev.optimus.ged.security;
+
+import io.quarkus.security.identity.request.BaseAuthenticationRequest;
+
+public class TokenAuthenticationRequest extends BaseAuthenticationRequest {
+    private final String token;
+
+    public TokenAuthenticationRequest(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+}
@@ -0,0 +1,42 @@
+package br.dev.optimus.ged.security;
+
+import io.quarkus.security.AuthenticationFailedException;
+import io.quarkus.security.identity.AuthenticationRequestContext;
+import io.quarkus.security.identity.IdentityProvider;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.security.runtime.QuarkusPrincipal;
+import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class TokenIdentityProvider implements IdentityProvider<TokenAuthenticationRequest> {
+    public static final String USER_ID = "user_id";
+    public static final String GROUP_ID = "group_id";
+
+    private final TokenService tokenService;
+
+    public TokenIdentityProvider(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public Class<TokenAuthenticationRequest> getRequestType() {
+        return TokenAuthenticationRequest.class;
+    }
+
+    @Override
+    public Uni<SecurityIdentity> authenticate(TokenAuthenticationRequest request,
+            AuthenticationRequestContext context) {
+        try {
+            var claims = tokenService.verify(request.getToken());
+            return Uni.createFrom().item(QuarkusSecurityIdentity.builder()
+                    .setPrincipal(new QuarkusPrincipal(claims.username()))
+                    .addAttribute(USER_ID, claims.userId())
+                    .addAttribute(GROUP_ID, claims.groupId())
+                    .build());
+        } catch (AuthenticationFailedException e) {
+            return Uni.createFrom().failure(e);
+        }
+    }
+}
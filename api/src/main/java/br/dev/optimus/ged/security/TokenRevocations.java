@@ -0,0 +1,28 @@
+package br.dev.optimus.ged.security;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.dev.optimus.ged.config.TokenConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class TokenRevocations {
+    private final ConcurrentHashMap<Long, Long> revokedAt = new ConcurrentHashMap<>();
+    private final long ttl;
+
+    public TokenRevocations(TokenConfig config) {
+        this.ttl = config.ttl().toMillis();
+    }
+
+    public void revoke(Long userId) {
+        var now = Instant.now().toEpochMilli();
+        revokedAt.values().removeIf(at -> at < now - ttl);
+        revokedAt.put(userId, now);
+    }
+
+    public boolean isRevoked(long userId, long issuedAt) {
+        var at = revokedAt.get(userId);
+        return at != null && issuedAt <= at;
+    }
+}
@@ -0,0 +1,128 @@
+package br.dev.optimus.ged.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import br.dev.optimus.ged.config.TokenConfig;
+import br.dev.optimus.ged.model.User;
+import br.dev.optimus.ged.repository.UserRepository;
+import io.quarkus.security.AuthenticationFailedException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotAuthorizedException;
+
+@ApplicationScoped
+public class TokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int MAC_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final TokenRevocations revocations;
+    private final RateLimiter rateLimiter;
+    private final SecretKeySpec key;
+    private final long ttl;
+    private final ArrayBlockingQueue<Mac> macs = new ArrayBlockingQueue<>(MAC_POOL_SIZE);
+
+    public record Login(String username, String password) {
+    }
+
+    public record Token(
+            @JsonbProperty("access_token") String accessToken,
+            @JsonbProperty("token_type") String tokenType,
+            @JsonbProperty("expires_in") long expiresIn) {
+    }
+
+    public record Claims(long userId, int groupId, String username, long issuedAt, long expiresAt) {
+    }
+
+    public TokenService(UserRepository userRepository, PasswordHasher passwordHasher, TokenRevocations revocations,
+            RateLimiter rateLimiter, TokenConfig config) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.revocations = revocations;
+        this.rateLimiter = rateLimiter;
+        this.key = new SecretKeySpec(config.secret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttl = config.ttl().toMillis();
+        macs.offer(newMac());
+    }
+
+    public Token login(Login login) {
+        if (login == null || login.username() == null || login.password() == null) {
+            throw new BadRequestException("username and password are required");
+        }
+        rateLimiter.acquire("login", "user:" + login.username().toLowerCase());
+        var user = userRepository.findActiveByUsername(login.username())
+                .filter(u -> passwordHasher.verify(login.password(), u.getPassword()))
+                .orElseThrow(() -> new NotAuthorizedException("invalid username or password", "Bearer"));
+        return issue(user);
+    }
+
+    public Token issue(User user) {
+        var now = Instant.now().toEpochMilli();
+        var payload = user.getId() + ":" + user.getGroup().getId() + ":" + now + ":" + (now + ttl) + ":"
+                + user.getUsername();
+        var encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new Token(encoded + "." + sign(encoded), "Bearer", ttl / 1000);
+    }
+
+    public Claims verify(String token) {
+        var dot = token.indexOf('.');
+        if (dot <= 0) {
+            throw new AuthenticationFailedException("malformed token");
+        }
+        var encoded = token.substring(0, dot);
+        var signature = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(signature, sign(encoded).getBytes(StandardCharsets.US_ASCII))) {
+            throw new AuthenticationFailedException("invalid token signature");
+        }
+        Claims claims;
+        try {
+            var parts = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split(":", 5);
+            claims = new Claims(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), parts[4],
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new AuthenticationFailedException("malformed token");
+        }
+        if (claims.expiresAt() < Instant.now().toEpochMilli()) {
+            throw new AuthenticationFailedException("token expired");
+        }
+        if (revocations.isRevoked(claims.userId(), claims.issuedAt())) {
+            throw new AuthenticationFailedException("token revoked");
+        }
+        return claims;
+    }
+
+    private String sign(String encoded) {
+        var mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            return ENCODER.encodeToString(mac.doFinal(encoded.getBytes(StandardCharsets.US_ASCII)));
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
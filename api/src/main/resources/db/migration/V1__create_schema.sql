@@ -0,0 +1,31 @@
+create table groups (
+    id integer generated by default as identity primary key,
+    name varchar(255),
+    permissions jsonb,
+    visible boolean not null,
+    editable boolean not null,
+    locked boolean not null,
+    created_at bigint not null,
+    updated_at bigint not null,
+    deleted_at bigint not null,
+    constraint groups_name_key unique (name)
+);
+
+create table users (
+    id bigint generated by default as identity primary key,
+    group_id integer references groups (id),
+    name varchar(255),
+    job_title varchar(255),
+    phone varchar(255),
+    email varchar(255),
+    username varchar(255),
+    password varchar(255),
+    visible boolean not null,
+    editable boolean not null,
+    locked boolean not null,
+    created_at bigint not null,
+    updated_at bigint not null,
+    deleted_at bigint not null,
+    constraint users_email_key unique (email),
+    constraint users_username_key unique (username)
+);
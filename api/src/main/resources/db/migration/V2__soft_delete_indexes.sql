@@ -0,0 +1,11 @@
+create index if not exists users_active_idx on users (id) where deleted_at = 0 and visible;
+create index if not exists groups_active_idx on groups (id) where deleted_at = 0 and visible;
+
+create index if not exists users_group_id_idx on users (group_id);
+
+create index if not exists users_updated_at_idx on users (updated_at, id);
+create index if not exists groups_updated_at_idx on groups (updated_at, id);
+
+create unique index if not exists users_lower_username_key on users (lower(username));
+create unique index if not exists users_lower_email_key on users (lower(email));
+create unique index if not exists groups_lower_name_key on groups (lower(name));
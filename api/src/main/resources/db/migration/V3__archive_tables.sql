@@ -0,0 +1,7 @@
+create table users_archive (like users including defaults);
+alter table users_archive add column archived_at bigint not null;
+alter table users_archive add primary key (id);
+
+create table groups_archive (like groups including defaults);
+alter table groups_archive add column archived_at bigint not null;
+alter table groups_archive add primary key (id);
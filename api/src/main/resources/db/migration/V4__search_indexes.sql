@@ -0,0 +1,10 @@
+create extension if not exists pg_trgm;
+
+create index if not exists users_name_trgm_idx on users using gin (name gin_trgm_ops)
+    where deleted_at = 0 and visible;
+create index if not exists users_job_title_trgm_idx on users using gin (job_title gin_trgm_ops)
+    where deleted_at = 0 and visible;
+create index if not exists users_username_trgm_idx on users using gin (username gin_trgm_ops)
+    where deleted_at = 0 and visible;
+create index if not exists users_email_trgm_idx on users using gin (email gin_trgm_ops)
+    where deleted_at = 0 and visible;
@@ -0,0 +1,26 @@
+with now as (
+    select (extract(epoch from clock_timestamp()) * 1000)::bigint as ms
+), seeded as (
+    insert into groups (name, permissions, visible, editable, locked, created_at, updated_at, deleted_at)
+    select g.name, g.permissions::jsonb, g.visible, false, true, now.ms, now.ms, 0
+    from now, (values
+        ('root', '["root"]', false),
+        ('admin', '["admin"]', true),
+        ('nobody', '["nobody"]', false)
+    ) as g (name, permissions, visible)
+    on conflict do nothing
+    returning id, name
+), seed_groups as (
+    select id, name from seeded
+    union all
+    select id, name from groups where name in ('root', 'admin')
+)
+insert into users (group_id, name, email, username, password, visible, editable, locked, created_at, updated_at,
+    deleted_at)
+select g.id, u.name, u.email, u.username, u.password, u.visible, false, true, now.ms, now.ms, 0
+from now, (values
+    ('root', 'ROOT', 'root@change.me', 'root', '$2a$10$sFIsnZhpjJSkD.123qgicebccotnnTnOtxg8I3C8uTDc8ouxlu7l6', false),
+    ('admin', 'ADMIN', 'admin@change.me', 'admin', '$2a$10$Zl7C9lt2JiPXmr9N1p6olegShe8BE9hMGfrR/b8Jin1b/sh72CvzC', true)
+) as u (group_name, name, email, username, password, visible)
+join seed_groups g on g.name = u.group_name
+on conflict do nothing;
@@ -0,0 +1,16 @@
+alter table users add column version bigint not null default 0;
+alter table groups add column version bigint not null default 0;
+
+alter table users_archive add column version bigint not null default 0;
+alter table users_archive rename column archived_at to archived_at_old;
+alter table users_archive add column archived_at bigint;
+update users_archive set archived_at = archived_at_old;
+alter table users_archive alter column archived_at set not null;
+alter table users_archive drop column archived_at_old;
+
+alter table groups_archive add column version bigint not null default 0;
+alter table groups_archive rename column archived_at to archived_at_old;
+alter table groups_archive add column archived_at bigint;
+update groups_archive set archived_at = archived_at_old;
+alter table groups_archive alter column archived_at set not null;
+alter table groups_archive drop column archived_at_old;
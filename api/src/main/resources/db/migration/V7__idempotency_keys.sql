@@ -0,0 +1,9 @@
+create table idempotency_keys (
+    id varchar(512) primary key,
+    fingerprint varchar(64) not null,
+    status integer not null,
+    body text,
+    created_at bigint not null
+);
+
+create index idempotency_keys_created_at_idx on idempotency_keys (created_at);
@@ -0,0 +1,30 @@
+create sequence change_seq;
+
+alter table users add column change_tx bigint not null default 0;
+alter table users add column change_seq bigint not null default 0;
+alter table groups add column change_tx bigint not null default 0;
+alter table groups add column change_seq bigint not null default 0;
+
+with ordered as (select id, row_number() over (order by updated_at, id) as position from users)
+update users u set change_seq = ordered.position from ordered where u.id = ordered.id;
+
+with ordered as (select id, row_number() over (order by updated_at, id) as position from groups)
+update groups g set change_seq = ordered.position from ordered where g.id = ordered.id;
+
+select setval('change_seq', greatest((select count(*) from users), (select count(*) from groups), 1));
+
+create function record_change() returns trigger language plpgsql as $$
+begin
+    new.change_tx := pg_current_xact_id()::text::bigint;
+    new.change_seq := nextval('change_seq');
+    return new;
+end
+$$;
+
+create trigger users_record_change before insert or update on users
+    for each row execute function record_change();
+create trigger groups_record_change before insert or update on groups
+    for each row execute function record_change();
+
+create index users_change_idx on users (change_tx, change_seq) where visible;
+create index groups_change_idx on groups (change_tx, change_seq) where visible;
@@ -0,0 +1,51 @@
+package br.dev.optimus.ged.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.exception.PreconditionFailedException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.EntityTag;
+
+class PreconditionsTest {
+    private final Preconditions optional = new Preconditions(() -> false);
+    private final Preconditions required = new Preconditions(() -> true);
+    private final EntityTag current = new EntityTag("3.7");
+
+    @Test
+    void missingHeaderIsUnconditionalUnlessRequired() {
+        assertNull(optional.expectedVersion(null, () -> current));
+        var e = assertThrows(ClientErrorException.class, () -> required.expectedVersion(" ", () -> current));
+        assertEquals(428, e.getResponse().getStatus());
+    }
+
+    @Test
+    void wildcardMatchesWithoutLoadingTheTag() {
+        assertNull(required.expectedVersion("*", () -> {
+            throw new AssertionError();
+        }));
+    }
+
+    @Test
+    void matchesAnyStrongTagInTheList() {
+        assertEquals(3L, optional.expectedVersion("\"2.7\", \"3.7\"", () -> current));
+        assertEquals(3L, optional.expectedVersion("\"3.7\"", () -> current));
+    }
+
+    @Test
+    void rejectsWeakStaleAndMalformedTags() {
+        assertThrows(PreconditionFailedException.class, () -> optional.expectedVersion("W/\"3.7\"", () -> current));
+        assertThrows(PreconditionFailedException.class, () -> optional.expectedVersion("\"3.6\"", () -> current));
+        assertThrows(PreconditionFailedException.class, () -> optional.expectedVersion("3.7", () -> current));
+    }
+
+    @Test
+    void parsesTagLists() {
+        assertEquals(Set.of("1", "a,b"), Preconditions.strongTags("\"1\", W/\"2\",\"a,b\""));
+    }
+}
@@ -0,0 +1,65 @@
+package br.dev.optimus.ged.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.model.User;
+
+class ChangeFeedTest {
+    private static final int PUBLISHERS = 8;
+    private static final int EVENTS = 5_000;
+
+    @Test
+    void deliversEveryEventPublishedConcurrently() throws Exception {
+        var feed = new ChangeFeed();
+        Set<Long> received = ConcurrentHashMap.newKeySet();
+        var active = new AtomicInteger();
+        var overlapped = new AtomicBoolean();
+        feed.users().subscribe().with(change -> {
+            if (active.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            received.add(change.id());
+            active.decrementAndGet();
+        });
+
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(PUBLISHERS);
+        for (var p = 0; p < PUBLISHERS; p++) {
+            var publisher = p;
+            executor.submit(() -> {
+                start.await();
+                for (var i = 0; i < EVENTS; i++) {
+                    feed.onUser(summary((long) publisher * EVENTS + i));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        var expected = new HashSet<Long>();
+        for (var id = 0L; id < (long) PUBLISHERS * EVENTS; id++) {
+            expected.add(id);
+        }
+        assertEquals(expected, received);
+        assertFalse(overlapped.get());
+    }
+
+    private static User.Summary summary(long id) {
+        return new User.Summary(id, 1, "group", "name", "job", null, "user" + id + "@test", "user" + id, true, true,
+                false, 0, 0, 0);
+    }
+}
@@ -0,0 +1,125 @@
+package br.dev.optimus.ged.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.repository.IdempotencyKeyRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+
+@QuarkusTest
+class IdempotencyStoreTest {
+    @Inject
+    IdempotencyStore store;
+
+    @Inject
+    IdempotencyKeyRepository repository;
+
+    @Inject
+    Jsonb jsonb;
+
+    @Test
+    @ActivateRequestContext
+    void replaysStoredResponse() {
+        var key = "test-" + System.nanoTime();
+        var calls = new AtomicInteger();
+        var request = Map.of("name", "first");
+
+        var first = store.execute("test", key, request, () -> created(calls.incrementAndGet()));
+        var second = store.execute("test", key, request, () -> created(calls.incrementAndGet()));
+
+        assertEquals(1, calls.get());
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeaderString(IdempotencyStore.REPLAYED));
+        assertEquals(201, second.getStatus());
+        assertEquals("true", second.getHeaderString(IdempotencyStore.REPLAYED));
+        assertEquals("{\"call\":1}", second.getEntity());
+    }
+
+    @Test
+    @ActivateRequestContext
+    void rejectsDifferentRequestWithSameKey() {
+        var key = "test-" + System.nanoTime();
+        store.execute("test", key, Map.of("name", "first"), () -> created(1));
+
+        var e = assertThrows(ClientErrorException.class,
+                () -> store.execute("test", key, Map.of("name", "second"), () -> created(2)));
+        assertEquals(422, e.getResponse().getStatus());
+    }
+
+    @Test
+    @ActivateRequestContext
+    void doesNotStoreFailures() {
+        var key = "test-" + System.nanoTime();
+        var calls = new AtomicInteger();
+
+        store.execute("test", key, Map.of(), () -> {
+            calls.incrementAndGet();
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        });
+        var retry = store.execute("test", key, Map.of(), () -> created(calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    @ActivateRequestContext
+    void waitsForAKeyClaimedByAnotherReplica() throws Exception {
+        var key = "test-" + System.nanoTime();
+        var request = Map.of("name", "first");
+        var id = "test:null:" + key;
+        var fingerprint = store.fingerprint(request);
+        var claimedAt = Instant.now().toEpochMilli();
+        QuarkusTransaction.requiringNew().run(() -> repository.claim(id, fingerprint, claimedAt, 0, 0));
+        var executor = Executors.newSingleThreadScheduledExecutor();
+        executor.schedule(() -> QuarkusTransaction.requiringNew()
+                .run(() -> repository.complete(id, claimedAt, 201, "{\"call\":0}")), 300, TimeUnit.MILLISECONDS);
+        var calls = new AtomicInteger();
+
+        var response = store.execute("test", key, request, () -> created(calls.incrementAndGet()));
+        executor.shutdown();
+
+        assertEquals(0, calls.get());
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeaderString(IdempotencyStore.REPLAYED));
+        assertEquals("{\"call\":0}", response.getEntity());
+    }
+
+    @Test
+    @ActivateRequestContext
+    void fingerprintIsNotAPlainHashOfTheRequest() throws Exception {
+        var key = "test-" + System.nanoTime();
+        var request = Map.of("username", "someone", "password", "secret-password");
+        store.execute("test", key, request, () -> created(1));
+
+        var stored = QuarkusTransaction.requiringNew()
+                .call(() -> repository.findActive("test:null:" + key, 0).orElseThrow());
+        var plain = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(jsonb.toJson(request).getBytes(StandardCharsets.UTF_8)));
+        assertEquals(64, stored.getFingerprint().length());
+        assertNotEquals(plain, stored.getFingerprint());
+    }
+
+    private static Response created(int call) {
+        return Response.status(Response.Status.CREATED).entity(Map.of("call", call)).build();
+    }
+}
@@ -0,0 +1,82 @@
+package br.dev.optimus.ged.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+class LoadReport {
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    record Operation(
+            long count,
+            double throughput,
+            Map<String, Long> statuses,
+            @JsonbProperty("latency_us") Map<String, Number> latency) {
+    }
+
+    record Result(
+            @JsonbProperty("started_at") String startedAt,
+            @JsonbProperty("duration_seconds") double durationSeconds,
+            Map<String, String> config,
+            Operation total,
+            Map<String, Operation> operations) {
+    }
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, LongAdder>> statuses = new ConcurrentHashMap<>();
+
+    void record(String operation, int status, long micros, long expectedIntervalMicros) {
+        var recorder = recorders.computeIfAbsent(operation, key -> new Recorder(HIGHEST_MICROS, 3));
+        var value = Math.min(Math.max(micros, 1), HIGHEST_MICROS);
+        if (expectedIntervalMicros > 0) {
+            recorder.recordValueWithExpectedInterval(value, expectedIntervalMicros);
+        } else {
+            recorder.recordValue(value);
+        }
+        statuses.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> new LongAdder())
+                .increment();
+    }
+
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        statuses.clear();
+    }
+
+    Result result(String startedAt, double seconds, Map<String, String> config) {
+        var total = new Histogram(HIGHEST_MICROS, 3);
+        var totalStatuses = new TreeMap<String, Long>();
+        var operations = new TreeMap<String, Operation>();
+        recorders.forEach((name, recorder) -> {
+            var histogram = recorder.getIntervalHistogram();
+            total.add(histogram);
+            var counts = new TreeMap<String, Long>();
+            statuses.getOrDefault(name, Map.of())
+                    .forEach((status, count) -> counts.put(String.valueOf(status), count.sum()));
+            counts.forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            operations.put(name, operation(histogram, counts, seconds));
+        });
+        return new Result(startedAt, seconds, config, operation(total, totalStatuses, seconds), operations);
+    }
+
+    private static Operation operation(Histogram histogram, Map<String, Long> statuses, double seconds) {
+        var count = statuses.values().stream().mapToLong(Long::longValue).sum();
+        var latency = new LinkedHashMap<String, Number>();
+        latency.put("min", histogram.getMinValue());
+        latency.put("mean", histogram.getMean());
+        latency.put("p50", histogram.getValueAtPercentile(50));
+        latency.put("p90", histogram.getValueAtPercentile(90));
+        latency.put("p99", histogram.getValueAtPercentile(99));
+        latency.put("p99.9", histogram.getValueAtPercentile(99.9));
+        latency.put("max", histogram.getMaxValue());
+        return new Operation(count, seconds > 0 ? count / seconds : 0, statuses, latency);
+    }
+}
@@ -0,0 +1,275 @@
+package br.dev.optimus.ged.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.model.Group;
+import br.dev.optimus.ged.model.User;
+import br.dev.optimus.ged.repository.GroupRepository;
+import br.dev.optimus.ged.repository.UserRepository;
+import br.dev.optimus.ged.security.PasswordHasher;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+@QuarkusTest
+@Tag("load")
+class LoadTest {
+    private static final Logger LOG = Logger.getLogger(LoadTest.class);
+
+    private static final String DEFAULT_MIX = "user.list=20,user.show=40,user.create=4,user.update=8,user.delete=3,"
+            + "group.list=5,group.show=15,group.create=1,group.update=3,group.delete=1";
+
+    private final int groups = Integer.getInteger("load.groups", 100);
+    private final int users = Integer.getInteger("load.users", 10_000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final int rate = Integer.getInteger("load.rate", 0);
+    private final Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private final String mix = System.getProperty("load.mix", DEFAULT_MIX);
+    private final Path output = Path.of(System.getProperty("load.output", "target/load-test.json"));
+
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LoadReport report = new LoadReport();
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Integer> groupIds = new ArrayList<>();
+
+    @TestHTTPResource("/")
+    URL url;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    Jsonb jsonb;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        seed();
+        var token = login();
+        var operations = parseMix();
+        var weights = operations.values().stream().mapToInt(Integer::intValue).sum();
+        var intervalMicros = rate > 0 ? TimeUnit.SECONDS.toMicros(concurrency) / rate : 0;
+
+        var started = Instant.now();
+        var measureFrom = System.nanoTime() + warmup.toNanos();
+        var deadline = measureFrom + duration.toNanos();
+        var executor = Executors.newFixedThreadPool(concurrency);
+        for (var i = 0; i < concurrency; i++) {
+            executor.submit(() -> {
+                var next = System.nanoTime();
+                while (System.nanoTime() < deadline) {
+                    if (intervalMicros > 0) {
+                        var wait = next - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        next += TimeUnit.MICROSECONDS.toNanos(intervalMicros);
+                    }
+                    execute(pick(operations, weights), token, intervalMicros);
+                }
+                return null;
+            });
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        report.reset();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS));
+
+        var config = new LinkedHashMap<String, String>();
+        config.put("groups", String.valueOf(groups));
+        config.put("users", String.valueOf(users));
+        config.put("concurrency", String.valueOf(concurrency));
+        config.put("rate", String.valueOf(rate));
+        config.put("warmup", warmup.toString());
+        config.put("duration", duration.toString());
+        config.put("mix", mix);
+        var result = report.result(started.toString(), duration.toMillis() / 1000.0, config);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (var writer = JsonbBuilder.create()) {
+            Files.writeString(output, writer.toJson(result));
+        }
+        LOG.infof("%d requests, %.1f req/s, p99 %s us, report written to %s", result.total().count(),
+                result.total().throughput(), result.total().latency().get("p99"), output.toAbsolutePath());
+        assertTrue(result.total().count() > 0);
+    }
+
+    private void seed() {
+        var hash = passwordHasher.hash("load-test");
+        for (var from = 0; from < groups; from += 500) {
+            var to = Math.min(groups, from + 500);
+            var start = from;
+            groupIds.addAll(QuarkusTransaction.requiringNew().call(() -> {
+                var ids = new ArrayList<Integer>();
+                for (var i = start; i < to; i++) {
+                    var group = Group.builder()
+                            .name(groupName(i))
+                            .permissions("user:list", "group:list")
+                            .build();
+                    groupRepository.create(group);
+                    ids.add(group.getId());
+                }
+                return ids;
+            }));
+        }
+        for (var from = 0; from < users; from += 500) {
+            var to = Math.min(users, from + 500);
+            var start = from;
+            userIds.addAll(QuarkusTransaction.requiringNew().call(() -> {
+                var ids = new ArrayList<Long>();
+                for (var i = start; i < to; i++) {
+                    var user = User.builder()
+                            .group(groupRepository.getEntityManager().getReference(Group.class,
+                                    groupIds.get(i % groupIds.size())))
+                            .name("load user " + i)
+                            .jobTitle("load tester")
+                            .email(username(i) + "@load.test")
+                            .username(username(i))
+                            .password(hash)
+                            .build();
+                    userRepository.create(user);
+                    ids.add(user.getId());
+                }
+                return ids;
+            }));
+        }
+        LOG.infof("seeded %d groups and %d users", groupIds.size(), userIds.size());
+    }
+
+    private String login() throws Exception {
+        var response = client.send(request("/auth/login", null)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonb.toJson(Map.of("username", "admin", "password", "admin"))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return jsonb.fromJson(response.body(), Map.class).get("access_token").toString();
+    }
+
+    private Map<String, Integer> parseMix() {
+        var operations = new LinkedHashMap<String, Integer>();
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split("=");
+            operations.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return operations;
+    }
+
+    private static String pick(Map<String, Integer> operations, int weights) {
+        var value = ThreadLocalRandom.current().nextInt(weights);
+        for (var entry : operations.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void execute(String operation, String token, long intervalMicros) throws Exception {
+        var random = ThreadLocalRandom.current();
+        var index = random.nextInt(operation.startsWith("user.") ? userIds.size() : groupIds.size());
+        switch (operation) {
+            case "user.list" -> send(operation, request("/user?size=50", token).GET(), intervalMicros);
+            case "user.show" -> send(operation, request("/user/" + userIds.get(index), token).GET(), intervalMicros);
+            case "user.create" -> {
+                var username = "load-" + run + "-new-" + sequence.incrementAndGet();
+                send(operation, request("/user", token).POST(userBody(username, "load-test")), intervalMicros);
+            }
+            case "user.update" -> send(operation, request("/user/" + userIds.get(index), token)
+                    .PUT(userBody(username(index), "")), intervalMicros);
+            case "user.delete" -> {
+                send(operation, request("/user/" + userIds.get(index), token).DELETE(), intervalMicros);
+                send("user.restore", request("/user/" + userIds.get(index) + "/restore", token)
+                        .PUT(HttpRequest.BodyPublishers.noBody()), intervalMicros);
+            }
+            case "group.list" -> send(operation, request("/group?size=50", token).GET(), intervalMicros);
+            case "group.show" -> send(operation, request("/group/" + groupIds.get(index), token).GET(),
+                    intervalMicros);
+            case "group.create" -> send(operation, request("/group", token)
+                    .POST(groupBody("load-" + run + "-new-" + sequence.incrementAndGet())), intervalMicros);
+            case "group.update" -> send(operation, request("/group/" + groupIds.get(index), token)
+                    .PUT(groupBody(groupName(index))), intervalMicros);
+            case "group.delete" -> {
+                send(operation, request("/group/" + groupIds.get(index), token).DELETE(), intervalMicros);
+                send("group.restore", request("/group/" + groupIds.get(index) + "/restore", token)
+                        .PUT(HttpRequest.BodyPublishers.noBody()), intervalMicros);
+            }
+            default -> throw new IllegalArgumentException("unknown operation " + operation);
+        }
+    }
+
+    private void send(String operation, HttpRequest.Builder request, long intervalMicros) throws Exception {
+        var start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = 0;
+        }
+        report.record(operation, status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), intervalMicros);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        var request = HttpRequest.newBuilder(URI.create(url.toString()).resolve(path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private HttpRequest.BodyPublisher userBody(String username, String password) {
+        var dto = new User.DTO("load user", groupIds.get(0), "load tester", null, username + "@load.test", username,
+                password, password, false);
+        return HttpRequest.BodyPublishers.ofString(jsonb.toJson(dto));
+    }
+
+    private HttpRequest.BodyPublisher groupBody(String name) {
+        var dto = new Group.DTO(name, List.of("user:list", "group:list"), false);
+        return HttpRequest.BodyPublishers.ofString(jsonb.toJson(dto));
+    }
+
+    private String username(int index) {
+        return "load-" + run + "-" + index;
+    }
+
+    private String groupName(int index) {
+        return "load-" + run + "-group-" + index;
+    }
+}
@@ -0,0 +1,75 @@
+package br.dev.optimus.ged.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.model.Group;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class ChangesTest {
+    @Inject
+    GroupRepository groupRepository;
+
+    @Test
+    void deliversTransactionsThatCommitOutOfOrder() throws Exception {
+        var prefix = "feed-" + System.nanoTime() + "-";
+        var first = QuarkusTransaction.requiringNew().call(() -> groupRepository.create(dto(prefix + "a")).getId());
+        var second = QuarkusTransaction.requiringNew().call(() -> groupRepository.create(dto(prefix + "b")).getId());
+        var cursor = drain(null, new HashSet<>());
+
+        var written = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        var slow = executor.submit(() -> QuarkusTransaction.requiringNew().run(() -> {
+            groupRepository.update(first, dto(prefix + "a1"), null);
+            written.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(written.await(30, TimeUnit.SECONDS));
+        QuarkusTransaction.requiringNew().run(() -> groupRepository.update(second, dto(prefix + "b1"), null));
+
+        var seen = new HashSet<Integer>();
+        cursor = drain(cursor, seen);
+        assertFalse(seen.contains(first));
+
+        release.countDown();
+        slow.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        drain(cursor, seen);
+
+        assertTrue(seen.contains(first));
+        assertTrue(seen.contains(second));
+    }
+
+    private String drain(String cursor, Set<Integer> seen) {
+        while (true) {
+            var from = cursor;
+            var feed = QuarkusTransaction.requiringNew().call(() -> groupRepository.changes(null, from, null));
+            feed.data().forEach(group -> seen.add(group.getId()));
+            cursor = feed.cursor();
+            if (!feed.more()) {
+                return cursor;
+            }
+        }
+    }
+
+    private static Group.DTO dto(String name) {
+        return new Group.DTO(name, List.of("user:list"), false);
+    }
+}
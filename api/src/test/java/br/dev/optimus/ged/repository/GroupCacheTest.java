@@ -0,0 +1,42 @@
+package br.dev.optimus.ged.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.model.Group;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class GroupCacheTest {
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void groupLookupsAreServedFromTheCacheAfterWarmUp() {
+        var groupId = QuarkusTransaction.requiringNew()
+                .call(() -> userRepository.listPage(null, null).data().get(0).groupId());
+        QuarkusTransaction.requiringNew().run(() -> groupRepository.findById(groupId));
+
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        QuarkusTransaction.requiringNew().run(() -> groupRepository.findById(groupId).getName());
+
+        var query = statistics.getQueryRegionStatistics(GroupRepository.BY_ID_REGION);
+        var entity = statistics.getDomainDataRegionStatistics(Group.class.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, query.getHitCount());
+        assertEquals(0, query.getMissCount());
+        assertEquals(1, entity.getHitCount());
+        assertEquals(0, entity.getMissCount());
+    }
+}
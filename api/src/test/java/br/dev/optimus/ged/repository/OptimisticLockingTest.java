@@ -0,0 +1,86 @@
+package br.dev.optimus.ged.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.model.Group;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.ClientErrorException;
+
+@QuarkusTest
+class OptimisticLockingTest {
+    private static final int WRITERS = 8;
+    private static final int INCREMENTS = 10;
+    private static final String LOCK_TIMEOUT = "500ms";
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    void everyVersionIsWrittenExactlyOnce() throws Exception {
+        var prefix = "occ-" + System.nanoTime() + "-";
+        var id = QuarkusTransaction.requiringNew()
+                .call(() -> groupRepository.create(dto(prefix + 0)).getId());
+        var successes = new ConcurrentHashMap<Long, AtomicInteger>();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(WRITERS);
+        var futures = new ArrayList<Future<?>>();
+        for (var i = 0; i < WRITERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                var done = 0;
+                while (done < INCREMENTS) {
+                    var read = QuarkusTransaction.requiringNew().call(() -> groupRepository.findById(id));
+                    var next = Integer.parseInt(read.getName().substring(prefix.length())) + 1;
+                    var version = read.getVersion();
+                    try {
+                        QuarkusTransaction.requiringNew().run(() -> {
+                            entityManager.createNativeQuery("set local lock_timeout = '" + LOCK_TIMEOUT + "'")
+                                    .executeUpdate();
+                            groupRepository.update(id, dto(prefix + next), version);
+                        });
+                        successes.computeIfAbsent(version, v -> new AtomicInteger()).incrementAndGet();
+                        done++;
+                    } catch (ClientErrorException e) {
+                        assertEquals(412, e.getResponse().getStatus());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        var total = WRITERS * INCREMENTS;
+        var group = QuarkusTransaction.requiringNew().call(() -> groupRepository.find("id", id).firstResult());
+        assertEquals(prefix + total, group.getName());
+        assertEquals(total, group.getVersion());
+        assertEquals(total, successes.size());
+        for (var version = 0L; version < total; version++) {
+            assertEquals(1, successes.get(version).get(), "writes applied to version " + version);
+        }
+    }
+
+    private static Group.DTO dto(String name) {
+        return new Group.DTO(name, List.of("user:list"), false);
+    }
+}
@@ -0,0 +1,89 @@
+package br.dev.optimus.ged.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.model.BulkResult;
+import br.dev.optimus.ged.model.User;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+
+@QuarkusTest
+class UserRepositoryTest {
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    GroupRepository groupRepository;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void listPageRunsOneStatement() {
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        var page = QuarkusTransaction.requiringNew().call(() -> userRepository.listPage(null, null));
+
+        assertFalse(page.data().isEmpty());
+        assertEquals("admin", page.data().get(0).groupName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSummaryByIdRunsOneStatement() {
+        var id = QuarkusTransaction.requiringNew().call(() -> userRepository.listPage(null, 1).data().get(0).id());
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        var summary = QuarkusTransaction.requiringNew().call(() -> userRepository.findSummaryById(id));
+
+        assertEquals(id, summary.id());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bulkDeleteAndRestoreRunOneUpdateEach() {
+        var ids = QuarkusTransaction.requiringNew().call(() -> {
+            var group = groupRepository.find("name", "admin").firstResult();
+            var created = new ArrayList<Long>();
+            for (var name : List.of("bulk-a", "bulk-b")) {
+                var user = User.builder()
+                        .group(group)
+                        .name(name)
+                        .email(name + "@bulk.test")
+                        .username(name)
+                        .password("x")
+                        .build();
+                userRepository.create(user);
+                created.add(user.getId());
+            }
+            return created;
+        });
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        var deleted = QuarkusTransaction.requiringNew().call(() -> userRepository.deleteBatch(ids));
+
+        assertEquals(new BulkResult(2, 2), deleted);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertThrows(NotFoundException.class,
+                () -> QuarkusTransaction.requiringNew().call(() -> userRepository.findSummaryById(ids.get(0))));
+
+        var restored = QuarkusTransaction.requiringNew().call(() -> userRepository.restoreBatch(ids));
+
+        assertEquals(new BulkResult(2, 2), restored);
+        assertEquals(ids.get(1), QuarkusTransaction.requiringNew()
+                .call(() -> userRepository.findSummaryById(ids.get(1)).id()));
+    }
+}
@@ -0,0 +1,90 @@
+package br.dev.optimus.ged.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.dev.optimus.ged.config.RateLimitConfig;
+import br.dev.optimus.ged.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.HttpHeaders;
+
+class RateLimiterTest {
+    private static RateLimitConfig config(int maxKeys) {
+        return new RateLimitConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public int stripes() {
+                return 1;
+            }
+
+            @Override
+            public int maxKeys() {
+                return maxKeys;
+            }
+
+            @Override
+            public Duration idleTimeout() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Map<String, Bucket> buckets() {
+                return Map.of("login", new Bucket() {
+                    @Override
+                    public int capacity() {
+                        return 2;
+                    }
+
+                    @Override
+                    public Duration period() {
+                        return Duration.ofMinutes(1);
+                    }
+                });
+            }
+        };
+    }
+
+    @Test
+    void rejectsWhenBucketIsEmpty() {
+        var limiter = new RateLimiter(config(100), new SimpleMeterRegistry());
+        limiter.acquire("login", "ip:10.0.0.1");
+        limiter.acquire("login", "ip:10.0.0.1");
+
+        var e = assertThrows(TooManyRequestsException.class, () -> limiter.acquire("login", "ip:10.0.0.1"));
+
+        assertEquals(429, e.getResponse().getStatus());
+        assertEquals("30", e.getResponse().getHeaderString(HttpHeaders.RETRY_AFTER));
+        assertDoesNotThrow(() -> limiter.acquire("login", "ip:10.0.0.2"));
+        assertDoesNotThrow(() -> limiter.acquire("unknown", "ip:10.0.0.1"));
+    }
+
+    @Test
+    void chargesOneTokenPerPermit() {
+        var limiter = new RateLimiter(config(100), new SimpleMeterRegistry());
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("login", "ip:10.0.0.1", 3));
+        assertDoesNotThrow(() -> limiter.acquire("login", "ip:10.0.0.1", 2));
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("login", "ip:10.0.0.1"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKeysWhenFull() {
+        var limiter = new RateLimiter(config(2), new SimpleMeterRegistry());
+        limiter.acquire("login", "ip:10.0.0.1");
+        limiter.acquire("login", "ip:10.0.0.1");
+        limiter.acquire("login", "ip:10.0.0.2");
+        limiter.acquire("login", "ip:10.0.0.3");
+
+        assertDoesNotThrow(() -> limiter.acquire("login", "ip:10.0.0.1"));
+    }
+}